@@ -41,6 +41,11 @@ export class LoginAuditComponent implements OnInit {
   filterAction: string = 'ALL';
   filterStatus: string = 'ALL';
 
+  // Server side paging: entries are loaded newest first, one page at a time
+  pageSize: number = 100;
+  nextCursor: string | null = null;
+  loadingMore: boolean = false;
+
   // Pagination
   currentPage: number = 1;
   itemsPerPage: number = 10;
@@ -67,32 +72,14 @@ export class LoginAuditComponent implements OnInit {
   loadAuditData(): void {
     this.loading = true;
     this.errorMessage = '';
-    
-    // Use appropriate service based on role
-    const service = this.isSupport 
-      ? this.supportService.getLoginAudit() 
-      : this.adminService.getLoginAudit();
-
-    service.subscribe({
-      next: (data) => {
-        // Sort by latest first (eventTime descending) for SUPER_ADMIN and SUPPORT
-        if (this.isSuperAdmin || this.isSupport) {
-          this.auditEntries = data.sort((a, b) => {
-            const timeA = new Date(a.eventTime).getTime();
-            const timeB = new Date(b.eventTime).getTime();
-            return timeB - timeA;
-          });
-          if (this.isSuperAdmin) {
-            this.applyFilters();
-          } else {
-            this.filteredEntries = [...this.auditEntries];
-            this.updatePagination();
-          }
-        } else {
-          this.auditEntries = data;
-          this.filteredEntries = [...this.auditEntries];
-          this.updatePagination();
-        }
+    this.nextCursor = null;
+
+    this.fetchPage().subscribe({
+      next: (page) => {
+        this.auditEntries = page.items;
+        this.nextCursor = page.nextCursor;
+        this.currentPage = 1;
+        this.applyFilters();
         this.loading = false;
       },
       error: (error) => {
@@ -103,41 +90,71 @@ export class LoginAuditComponent implements OnInit {
     });
   }
 
-  // Filters (only for SUPER_ADMIN)
-  applyFilters(): void {
-    if (!this.isSuperAdmin) {
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) {
       return;
     }
-
-    this.filteredEntries = this.auditEntries.filter(entry => {
-      // Email filter
-      if (this.filterEmail && !entry.email.toLowerCase().includes(this.filterEmail.toLowerCase())) {
-        return false;
+    this.loadingMore = true;
+
+    this.fetchPage(this.nextCursor).subscribe({
+      next: (page) => {
+        this.auditEntries = [...this.auditEntries, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.applyFilters(false);
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        this.errorMessage = error?.error?.message || 'Failed to load more login audit data';
+        this.loadingMore = false;
+        console.error('Error loading audit data:', error);
       }
+    });
+  }
 
-      // Action filter
+  // Email and action filters run on the server, status is derived client side
+  private fetchPage(cursor?: string) {
+    const query: { [key: string]: string | number } = { size: this.pageSize };
+
+    if (this.isSuperAdmin) {
+      if (this.filterEmail.trim()) {
+        query['email'] = this.filterEmail.trim();
+      }
       if (this.filterAction !== 'ALL') {
-        if (this.filterAction === 'LOGIN' && entry.loginType !== 'LOGIN') return false;
-        if (this.filterAction === 'LOGOUT' && entry.loginType !== 'LOGOUT') return false;
-        if (this.filterAction === 'PASSWORD_CHANGED' && entry.loginType !== 'PASSWORD_CHANGED') return false;
-        if (this.filterAction === 'FAILED' && entry.loginType !== 'FAILED') return false;
+        query['loginType'] = this.filterAction;
       }
+    }
+    if (cursor) {
+      query['cursor'] = cursor;
+    }
+
+    // Use appropriate service based on role
+    return this.isSupport
+      ? this.supportService.getLoginAudit(query)
+      : this.adminService.getLoginAudit(query);
+  }
 
-      // Status filter
-      if (this.filterStatus !== 'ALL') {
+  // Status filter (only for SUPER_ADMIN)
+  applyFilters(resetPage: boolean = true): void {
+    this.filteredEntries = this.auditEntries.filter(entry => {
+      if (this.isSuperAdmin && this.filterStatus !== 'ALL') {
         const status = this.getStatus(entry);
         if (this.filterStatus === 'SUCCESS' && status !== 'SUCCESS') return false;
         if (this.filterStatus === 'FAILED' && status !== 'FAILED') return false;
       }
-
       return true;
     });
 
     this.updatePagination();
-    this.currentPage = 1; // Reset to first page when filtering
+    if (resetPage) {
+      this.currentPage = 1; // Reset to first page when filtering
+    }
   }
 
   onFilterChange(): void {
+    this.loadAuditData();
+  }
+
+  onStatusFilterChange(): void {
     this.applyFilters();
   }
 
@@ -145,7 +162,7 @@ export class LoginAuditComponent implements OnInit {
     this.filterEmail = '';
     this.filterAction = 'ALL';
     this.filterStatus = 'ALL';
-    this.applyFilters();
+    this.loadAuditData();
   }
 
   // Map loginType to Action display text
@@ -8,7 +8,7 @@ import { CommonModule } from '@angular/common';
 
 interface PasswordResetAuditEntry {
   id: number;
-  email: string;
+  userEmail: string;
   requestedAt: string;
   approvedAt?: string;
   approvedBy?: string;
@@ -48,8 +48,10 @@ export class ProfileComponent implements OnInit {
 
   loadLoginHistory(): void {
     this.userService.getUserLoginHistory().subscribe({
-      next: (history) => {
-        // Find last LOGIN event
+      next: (page) => {
+        const history = page.items;
+
+        // Entries are newest first, find last LOGIN event
         const loginEvents = history.filter((entry: any) => entry.loginType === 'LOGIN');
         if (loginEvents.length > 0) {
           this.lastLoginTime = loginEvents[0].eventTime;
@@ -25,13 +25,19 @@ export class SuperAdminActionAuditComponent implements OnInit {
   filterDateFrom: string = '';
   filterDateTo: string = '';
 
+  // Server side paging: entries are loaded newest first, one page at a time
+  pageSize: number = 100;
+  nextCursor: string | null = null;
+  loadingMore: boolean = false;
+
   // Pagination
   currentPage: number = 1;
   itemsPerPage: number = 10;
   totalPages: number = 1;
 
-  // Expanded rows
+  // Expanded rows by audit id, with their states loaded on first expansion
   expandedRows: Set<number> = new Set();
+  details: Map<number, ActionAuditEntry> = new Map();
 
   // Action type options
   actionTypes: string[] = [
@@ -54,14 +60,13 @@ export class SuperAdminActionAuditComponent implements OnInit {
   loadAuditData(): void {
     this.loading = true;
     this.errorMessage = '';
-    this.actionAuditService.getAllActionAudit().subscribe({
-      next: (data) => {
-        // Sort by latest first (performedAt descending)
-        this.auditEntries = data.sort((a, b) => {
-          const timeA = new Date(a.performedAt).getTime();
-          const timeB = new Date(b.performedAt).getTime();
-          return timeB - timeA;
-        });
+    this.nextCursor = null;
+    this.expandedRows.clear();
+
+    this.fetchPage().subscribe({
+      next: (page) => {
+        this.auditEntries = page.items;
+        this.nextCursor = page.nextCursor;
         this.applyFilters();
         this.loading = false;
       },
@@ -73,41 +78,63 @@ export class SuperAdminActionAuditComponent implements OnInit {
     });
   }
 
-  applyFilters(): void {
-    this.filteredEntries = this.auditEntries.filter(entry => {
-      // Action type filter
-      if (this.filterActionType !== 'ALL' && entry.actionType !== this.filterActionType) {
-        return false;
-      }
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) {
+      return;
+    }
+    this.loadingMore = true;
 
-      // Status filter
-      if (this.filterStatus !== 'ALL' && entry.actionStatus !== this.filterStatus) {
-        return false;
+    this.fetchPage(this.nextCursor).subscribe({
+      next: (page) => {
+        this.auditEntries = [...this.auditEntries, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.applyFilters(false);
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        this.errorMessage = error?.error?.message || 'Failed to load more action audit data';
+        this.loadingMore = false;
+        console.error('Error loading audit data:', error);
       }
+    });
+  }
 
-      // Date range filter
-      if (this.filterDateFrom || this.filterDateTo) {
-        const entryDate = new Date(entry.performedAt);
-        if (this.filterDateFrom) {
-          const fromDate = new Date(this.filterDateFrom);
-          if (entryDate < fromDate) return false;
-        }
-        if (this.filterDateTo) {
-          const toDate = new Date(this.filterDateTo);
-          toDate.setHours(23, 59, 59, 999); // Include the entire end date
-          if (entryDate > toDate) return false;
-        }
-      }
+  // All filters run on the server; dates are whole local days
+  private fetchPage(cursor?: string) {
+    const query: { [key: string]: string | number } = { size: this.pageSize };
 
-      return true;
-    });
+    if (this.filterActionType !== 'ALL') {
+      query['type'] = this.filterActionType;
+    }
+    if (this.filterStatus !== 'ALL') {
+      query['status'] = this.filterStatus;
+    }
+    if (this.filterDateFrom) {
+      query['from'] = new Date(this.filterDateFrom + 'T00:00:00').toISOString();
+    }
+    if (this.filterDateTo) {
+      const toDate = new Date(this.filterDateTo + 'T00:00:00');
+      toDate.setDate(toDate.getDate() + 1); // Include the entire end date
+      query['to'] = toDate.toISOString();
+    }
+    if (cursor) {
+      query['cursor'] = cursor;
+    }
+
+    return this.actionAuditService.searchActionAudit(query);
+  }
+
+  applyFilters(resetPage: boolean = true): void {
+    this.filteredEntries = this.auditEntries;
 
     this.updatePagination();
-    this.currentPage = 1; // Reset to first page when filtering
+    if (resetPage) {
+      this.currentPage = 1; // Reset to first page when filtering
+    }
   }
 
   onFilterChange(): void {
-    this.applyFilters();
+    this.loadAuditData();
   }
 
   clearFilters(): void {
@@ -115,20 +142,27 @@ export class SuperAdminActionAuditComponent implements OnInit {
     this.filterStatus = 'ALL';
     this.filterDateFrom = '';
     this.filterDateTo = '';
-    this.applyFilters();
+    this.loadAuditData();
   }
 
   // Toggle row expansion for viewing before/after states
-  toggleRowExpansion(index: number): void {
-    if (this.expandedRows.has(index)) {
-      this.expandedRows.delete(index);
-    } else {
-      this.expandedRows.add(index);
+  toggleRowExpansion(entry: ActionAuditEntry): void {
+    if (this.expandedRows.has(entry.id)) {
+      this.expandedRows.delete(entry.id);
+      return;
+    }
+    this.expandedRows.add(entry.id);
+
+    if (!this.details.has(entry.id)) {
+      this.actionAuditService.getActionAudit(entry.id).subscribe({
+        next: (detail) => this.details.set(entry.id, detail),
+        error: (error) => console.error('Error loading audit entry:', error)
+      });
     }
   }
 
-  isRowExpanded(index: number): boolean {
-    return this.expandedRows.has(index);
+  isRowExpanded(entry: ActionAuditEntry): boolean {
+    return this.expandedRows.has(entry.id);
   }
 
   // Get status badge class
@@ -5,17 +5,24 @@ import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 export interface ActionAuditEntry {
+  id: number;
   actorEmail: string;
   actorRole: string;
+  targetUserId?: number;
   targetUserEmail: string;
   actionType: string; // ROLE_CHANGE | PROFILE_CREATE | PROFILE_UPDATE | PASSWORD_RESET | USER_DELETE | ACCOUNT_ACTIVATE | ACCOUNT_DEACTIVATE
   actionStatus: string; // SUCCESS | FAILED
   actionReason?: string;
-  beforeState?: string;
+  beforeState?: string; // only on getActionAudit(id), search results leave the states out
   afterState?: string;
   performedAt: string;
 }
 
+export interface ActionAuditPage {
+  items: ActionAuditEntry[];
+  nextCursor: string | null;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -24,34 +31,17 @@ export class ActionAuditService {
 
   constructor(private http: HttpClient) {}
 
-  // Get all action audit records
-  getAllActionAudit(): Observable<ActionAuditEntry[]> {
-    return this.http.get<ActionAuditEntry[]>(this.apiUrl);
-  }
-
-  // Get action audit by type
-  getActionAuditByType(type: string): Observable<ActionAuditEntry[]> {
-    return this.http.get<ActionAuditEntry[]>(`${this.apiUrl}/type/${type}`);
-  }
-
-  // Get action audit by status
-  getActionAuditByStatus(status: string): Observable<ActionAuditEntry[]> {
-    return this.http.get<ActionAuditEntry[]>(`${this.apiUrl}/status/${status}`);
-  }
-
-  // Get action audit by type and status
-  getActionAuditByFilter(type: string, status: string): Observable<ActionAuditEntry[]> {
-    const params = new HttpParams()
-      .set('type', type)
-      .set('status', status);
-    return this.http.get<ActionAuditEntry[]>(`${this.apiUrl}/filter`, { params });
+  // Search action audit records, one page at a time (newest first).
+  // Any of type, status, actorEmail, actorRole, targetUserId, targetEmail,
+  // from and to (ISO instants); pass the returned nextCursor back as cursor.
+  searchActionAudit(query: { [key: string]: string | number } = {}): Observable<ActionAuditPage> {
+    return this.http.get<ActionAuditPage>(`${this.apiUrl}/search`, {
+      params: new HttpParams({ fromObject: query })
+    });
   }
 
-  // Get action audit by date range
-  getActionAuditByDateRange(from: string, to: string): Observable<ActionAuditEntry[]> {
-    const params = new HttpParams()
-      .set('from', from)
-      .set('to', to);
-    return this.http.get<ActionAuditEntry[]>(`${this.apiUrl}/date-range`, { params });
+  // Get one action audit record with its before/after state
+  getActionAudit(id: number): Observable<ActionAuditEntry> {
+    return this.http.get<ActionAuditEntry>(`${this.apiUrl}/${id}`);
   }
 }
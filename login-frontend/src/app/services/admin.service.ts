@@ -1,7 +1,7 @@
 // ng g service services/admin
 
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 @Injectable({
@@ -42,8 +42,11 @@ export class AdminService {
     return this.http.get<any[]>(`${this.apiUrl}/admin/password-reset-audit`);
   }
 
-  // Get login audit (for SUPER_ADMIN only)
-  getLoginAudit(): Observable<any[]> {
-    return this.http.get<any[]>(`${this.apiUrl}/support/login-audit`);
+  // Get login audit (for SUPER_ADMIN only), one page at a time (newest first).
+  // Pass the returned nextCursor back as cursor to read the next page.
+  getLoginAudit(query: { [key: string]: string | number } = {}): Observable<any> {
+    return this.http.get<any>(`${this.apiUrl}/support/login-audit`, {
+      params: new HttpParams({ fromObject: query })
+    });
   }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 // ng g service services/support
 
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 @Injectable({
@@ -27,8 +27,11 @@ export class SupportService {
     return this.http.post(`${this.apiUrl}/support/password-reset/send/${requestId}`, {});
   }
 
-  // Get login audit (read-only)
-  getLoginAudit(): Observable<any[]> {
-    return this.http.get<any[]>(`${this.apiUrl}/support/login-audit`);
+  // Get login audit (read-only), one page at a time (newest first).
+  // Pass the returned nextCursor back as cursor to read the next page.
+  getLoginAudit(query: { [key: string]: string | number } = {}): Observable<any> {
+    return this.http.get<any>(`${this.apiUrl}/support/login-audit`, {
+      params: new HttpParams({ fromObject: query })
+    });
   }
 }
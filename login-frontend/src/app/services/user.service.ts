@@ -44,7 +44,8 @@ export class UserService {
     return this.http.post(`${this.apiUrl}/user/password-reset-request?email=${email}`, {});
   }
 
-  getUserLoginHistory(): Observable<any[]> {
-    return this.http.get<any[]>(`${this.apiUrl}/users/me/login-history`);
+  // Latest page of own login history (newest first)
+  getUserLoginHistory(size: number = 50): Observable<any> {
+    return this.http.get<any>(`${this.apiUrl}/users/me/login-history?size=${size}`);
   }
 }
\ No newline at end of file
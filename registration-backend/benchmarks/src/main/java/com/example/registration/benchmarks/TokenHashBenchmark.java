@@ -0,0 +1,63 @@
+package com.example.registration.benchmarks;
+
+import com.example.registration.config.JwtUtil;
+import com.example.registration.enums.Roles;
+import com.example.registration.security.JwtHashUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token fingerprinting done for every login, logout and revocation check.
+ * Run with -prof gc to see the allocation rate next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenHashBenchmark {
+
+    private String token;
+    private byte[] digest;
+    private String hex;
+
+    @Setup
+    public void setUp() {
+        token = new JwtUtil(TokenVerificationBenchmark.SECRET)
+                .issue("bench.user@example.com", Roles.USER, 0)
+                .getToken();
+        digest = JwtHashUtil.digest(token);
+        hex = JwtHashUtil.toHex(digest);
+    }
+
+    @Benchmark
+    public String hash() {
+        return JwtHashUtil.hash(token);
+    }
+
+    @Benchmark
+    public byte[] digest() {
+        return JwtHashUtil.digest(token);
+    }
+
+    @Benchmark
+    public String toHex() {
+        return JwtHashUtil.toHex(digest);
+    }
+
+    @Benchmark
+    public byte[] fromHex() {
+        return JwtHashUtil.fromHex(hex);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.registration.benchmarks;
+
+import com.example.registration.config.JwtUtil;
+import com.example.registration.enums.Roles;
+import com.example.registration.security.VerifiedToken;
+import com.example.registration.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What JwtFilter pays per request: full HS256 verification and claim
+ * decoding versus a hit in VerifiedTokenCache for a repeated token. Also
+ * covers issuing, which every successful login pays once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache tokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        tokenCache = new VerifiedTokenCache(jwtUtil, 50_000);
+        token = jwtUtil.issue("bench.user@example.com", Roles.USER, 0).getToken();
+
+        // Prime the cache so every measured call is a repeat request
+        tokenCache.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken issue() {
+        return jwtUtil.issue("bench.user@example.com", Roles.USER, 0);
+    }
+
+    @Benchmark
+    public VerifiedToken parseAndVerify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerify() {
+        return tokenCache.verify(token);
+    }
+}
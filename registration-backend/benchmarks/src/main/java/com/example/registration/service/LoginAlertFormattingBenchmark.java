@@ -0,0 +1,43 @@
+package com.example.registration.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The "you last logged out ..." text built on every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginAlertFormattingBenchmark {
+
+    @Param({"PT3M", "PT2H5M", "P3DT4H1M"})
+    public String sinceLogout;
+
+    private Duration duration;
+
+    @Setup
+    public void setUp() {
+        duration = Duration.parse(sinceLogout);
+    }
+
+    @Benchmark
+    public String formatDuration() {
+        return LoginAuditService.formatDuration(duration);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.UserFullResponse;
+import com.example.registration.dto.UserShortResponse;
+import com.example.registration.entity.User;
+import com.example.registration.entity.UserAuth;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row mapping done by UserService.getUsersByRole. Lives in the service
+ * package to reach the package-private mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+
+        UserAuth auth = new UserAuth();
+        auth.setEmail("bench.user@example.com");
+
+        user = new User();
+        user.setId(42L);
+        user.setName("Bench User");
+        user.setPhone("9876543210");
+        user.setAddress("221B Baker Street, London");
+        user.setDob(LocalDate.of(1990, 5, 17));
+        user.setLanguages("English, Hindi");
+        user.setAuth(auth);
+    }
+
+    @Benchmark
+    public UserShortResponse toShortResponse() {
+        return UserService.toShortResponse(1L, user);
+    }
+
+    @Benchmark
+    public UserFullResponse toFullResponse() {
+        return UserService.toFullResponse(user);
+    }
+
+    @Benchmark
+    public String maskPhone() {
+        return UserService.maskPhone(user.getPhone());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.registration.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of one endpoint phase.
+ *
+ * responseTime is measured from the moment the request was scheduled to go
+ * out, not from when it was actually sent, so stalls in the server are not
+ * hidden by the generator waiting on them (coordinated omission).
+ * serviceTime is the uncorrected send-to-response time, kept for contrast.
+ */
+final class EndpointStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    final String name;
+    final double targetRate;
+
+    final Histogram responseTime = new ConcurrentHistogram(MAX_MICROS, 3);
+    final Histogram serviceTime = new ConcurrentHistogram(MAX_MICROS, 3);
+
+    final LongAdder ok = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+
+    private volatile Duration measured = Duration.ZERO;
+
+    EndpointStats(String name, double targetRate) {
+        this.name = name;
+        this.targetRate = targetRate;
+    }
+
+    void record(long intendedNanos, long sentNanos, long doneNanos, boolean success) {
+
+        responseTime.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(doneNanos - intendedNanos)));
+        serviceTime.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(doneNanos - sentNanos)));
+
+        (success ? ok : errors).increment();
+    }
+
+    void measuredFor(Duration window) {
+        this.measured = window;
+    }
+
+    double throughput() {
+        double seconds = measured.toNanos() / 1e9;
+        return seconds == 0 ? 0 : ok.sum() / seconds;
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-14s %8s %9s %8s %7s %7s %7s %9s %9s %9s %9s %9s %11s%n",
+                "endpoint", "target/s", "achieved/s", "ok", "errors", "dropped", "skipped",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-14s %8.1f %9.1f %8d %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n",
+                name, targetRate, throughput(), ok.sum(), errors.sum(), dropped.sum(), skipped.sum(),
+                millis(responseTime, 50), millis(responseTime, 90), millis(responseTime, 99),
+                millis(responseTime, 99.9), responseTime.getMaxValue() / 1000.0,
+                millis(serviceTime, 99));
+    }
+
+    /**
+     * Full percentile distribution in milliseconds, loadable by the usual
+     * HdrHistogram plotters to compare runs.
+     */
+    void writeDistribution(Path dir) throws IOException {
+
+        Files.createDirectories(dir);
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+            responseTime.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
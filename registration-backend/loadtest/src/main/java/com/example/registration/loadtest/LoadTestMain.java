@@ -0,0 +1,253 @@
+package com.example.registration.loadtest;
+
+import com.example.registration.RegistrationApplication;
+import com.example.registration.service.AuthService;
+import com.example.registration.service.UserService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the application in-process on H2 (MySQL mode), seeds accounts and
+ * drives each endpoint in turn at a fixed arrival rate, then prints
+ * throughput and latency percentiles per endpoint.
+ *
+ * Any Spring property can be overridden on the command line, including the
+ * embedded defaults below (e.g. to point at a real MySQL instead).
+ */
+public final class LoadTestMain {
+
+    private static final Map<String, String> EMBEDDED_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        EMBEDDED_DEFAULTS.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        EMBEDDED_DEFAULTS.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        EMBEDDED_DEFAULTS.put("spring.datasource.username", "sa");
+        EMBEDDED_DEFAULTS.put("spring.datasource.password", "");
+        EMBEDDED_DEFAULTS.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        EMBEDDED_DEFAULTS.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        EMBEDDED_DEFAULTS.put("spring.jpa.show-sql", "false");
+        EMBEDDED_DEFAULTS.put("spring.flyway.enabled", "false");
+        EMBEDDED_DEFAULTS.put("server.port", "0");
+        EMBEDDED_DEFAULTS.put("jwt.secret", "loadtest-secret-loadtest-secret-0123456789");
+        // Every request comes from one address, the limiter would only measure itself
+        EMBEDDED_DEFAULTS.put("security.rate-limit.enabled", "false");
+        // H2 rejects the MySQL streaming hint (Integer.MIN_VALUE)
+        EMBEDDED_DEFAULTS.put("audit.login.export.fetch-size", "1000");
+        // Partition maintenance is MySQL only
+        EMBEDDED_DEFAULTS.put("audit.login.retention.enabled", "false");
+        // The in-memory database starts empty, so must the action audit journal and text index
+        EMBEDDED_DEFAULTS.put("audit.action.journal.dir",
+                System.getProperty("java.io.tmpdir") + "/loadtest-action-audit-" + ProcessHandle.current().pid());
+        EMBEDDED_DEFAULTS.put("audit.action.text-index.snapshot-file",
+                System.getProperty("java.io.tmpdir") + "/loadtest-action-audit-text-" + ProcessHandle.current().pid() + ".idx");
+        EMBEDDED_DEFAULTS.put("logging.level.com.example.registration", "WARN");
+        EMBEDDED_DEFAULTS.put("spring.main.banner-mode", "off");
+    }
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final List<String> sessionTokens = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> loggedInTokens = new ConcurrentLinkedQueue<>();
+    private String adminToken;
+
+    private LoadTestMain(LoadTestOptions options, int port) {
+        this.options = options;
+        this.baseUrl = "http://localhost:" + port;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        ConfigurableApplicationContext context =
+                SpringApplication.run(RegistrationApplication.class, withDefaults(args));
+
+        int exitCode = 0;
+
+        try {
+            LoadTestOptions options = LoadTestOptions.from(context.getEnvironment());
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            long seedStart = System.nanoTime();
+            new Seeder(context.getBean(AuthService.class), context.getBean(UserService.class))
+                    .seed(options.users, options.seedThreads);
+            System.out.printf("Seeded %d accounts in %.1f s%n",
+                    options.users + 1, (System.nanoTime() - seedStart) / 1e9);
+
+            new LoadTestMain(options, port).run(System.out);
+
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            exitCode = 1;
+
+        } finally {
+            int closed = SpringApplication.exit(context);
+            System.exit(exitCode != 0 ? exitCode : closed);
+        }
+    }
+
+    private void run(PrintStream out) throws IOException, InterruptedException {
+
+        openSessions();
+
+        OpenLoadGenerator generator = new OpenLoadGenerator(client, options.maxInFlight);
+        List<EndpointStats> results = new ArrayList<>();
+
+        results.add(phase(generator, "login", options.loginRate,
+                this::login,
+                response -> loggedInTokens.add(readToken(response))));
+
+        results.add(phase(generator, "users", options.usersRate,
+                () -> get("/users", randomSessionToken()),
+                response -> { }));
+
+        results.add(phase(generator, "users-me", options.meRate,
+                () -> get("/users/me", randomSessionToken()),
+                response -> { }));
+
+        results.add(phase(generator, "action-audit", options.actionAuditRate,
+                () -> get("/super-admin/action-audit/search", adminToken),
+                response -> { }));
+
+        // Consumes the tokens issued during the login phase, one per request
+        results.add(phase(generator, "logout", options.logoutRate,
+                () -> {
+                    String token = loggedInTokens.poll();
+                    return token == null ? null : post("/auth/logout", token, "");
+                },
+                response -> { }));
+
+        out.println();
+        out.printf("Open model, %s warmup + %s measured per endpoint, %d seeded users%n",
+                options.warmup, options.duration, options.users);
+        out.println("Latency is measured from the scheduled send time (coordinated omission corrected)");
+        out.println();
+
+        EndpointStats.printHeader(out);
+        for (EndpointStats stats : results) {
+            stats.print(out);
+            stats.writeDistribution(Path.of(options.reportDir));
+        }
+
+        out.println();
+        out.println("Percentile distributions written to " + Path.of(options.reportDir).toAbsolutePath());
+    }
+
+    private EndpointStats phase(OpenLoadGenerator generator,
+                                String name,
+                                double rate,
+                                java.util.function.Supplier<HttpRequest> requests,
+                                java.util.function.Consumer<HttpResponse<String>> onSuccess) {
+
+        EndpointStats stats = new EndpointStats(name, rate);
+
+        System.out.printf("Running %s at %.1f req/s%n", name, rate);
+        generator.run(stats, options.warmup, options.duration, requests, onSuccess);
+
+        return stats;
+    }
+
+    /**
+     * Logs in a fixed set of users up front; the read endpoints rotate over
+     * these tokens instead of paying for a login per request.
+     */
+    private void openSessions() throws IOException, InterruptedException {
+
+        adminToken = loginNow(Seeder.ADMIN_EMAIL);
+
+        int sessions = Math.min(options.sessions, options.users);
+        for (int i = 0; i < sessions; i++) {
+            sessionTokens.add(loginNow(Seeder.userEmail(i)));
+        }
+    }
+
+    private String loginNow(String email) throws IOException, InterruptedException {
+
+        HttpResponse<String> response = client.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.body());
+        }
+        return readToken(response);
+    }
+
+    private HttpRequest login() {
+        return loginRequest(Seeder.userEmail(ThreadLocalRandom.current().nextInt(options.users)));
+    }
+
+    private HttpRequest loginRequest(String email) {
+        String body = jsonMapper.writeValueAsString(Map.of("email", email, "password", Seeder.PASSWORD));
+        return post("/auth/login", null, body);
+    }
+
+    private String randomSessionToken() {
+        return sessionTokens.get(ThreadLocalRandom.current().nextInt(sessionTokens.size()));
+    }
+
+    private String readToken(HttpResponse<String> response) {
+        return jsonMapper.readTree(response.body()).get("token").asString();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Adds the embedded defaults as command line properties unless the same
+     * key was passed explicitly; Spring would join duplicates with a comma.
+     */
+    private static String[] withDefaults(String[] args) {
+
+        List<String> merged = new ArrayList<>(Arrays.asList(args));
+
+        EMBEDDED_DEFAULTS.forEach((key, value) -> {
+            boolean overridden = merged.stream().anyMatch(arg -> arg.startsWith("--" + key + "="));
+            if (!overridden) {
+                merged.add("--" + key + "=" + value);
+            }
+        });
+
+        return merged.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.registration.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Knobs of a run, read from loadtest.* properties so they can be passed on
+ * the command line like any Spring property.
+ */
+final class LoadTestOptions {
+
+    final int users;
+    final int seedThreads;
+    final int sessions;
+    final Duration warmup;
+    final Duration duration;
+    final int maxInFlight;
+    final String reportDir;
+
+    final double loginRate;
+    final double usersRate;
+    final double meRate;
+    final double actionAuditRate;
+    final double logoutRate;
+
+    private LoadTestOptions(Environment env) {
+
+        users = env.getProperty("loadtest.users", Integer.class, 200);
+        seedThreads = env.getProperty("loadtest.seed-threads", Integer.class,
+                Runtime.getRuntime().availableProcessors());
+        sessions = env.getProperty("loadtest.sessions", Integer.class, 50);
+        warmup = env.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(5));
+        duration = env.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(30));
+        maxInFlight = env.getProperty("loadtest.max-in-flight", Integer.class, 2000);
+        reportDir = env.getProperty("loadtest.report-dir", "target/loadtest");
+
+        loginRate = env.getProperty("loadtest.rate.login", Double.class, 20.0);
+        usersRate = env.getProperty("loadtest.rate.users", Double.class, 100.0);
+        meRate = env.getProperty("loadtest.rate.me", Double.class, 200.0);
+        actionAuditRate = env.getProperty("loadtest.rate.action-audit", Double.class, 20.0);
+        logoutRate = env.getProperty("loadtest.rate.logout", Double.class, 20.0);
+    }
+
+    static LoadTestOptions from(Environment env) {
+        return new LoadTestOptions(env);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.registration.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Open-model generator: requests leave on a fixed schedule whether or not
+ * earlier ones have returned, like independent users would send them.
+ *
+ * Each request runs on its own virtual thread so a slow server cannot slow
+ * the schedule down. If more than maxInFlight requests are outstanding, new
+ * ones are counted as dropped instead of queued, which is a clear sign the
+ * node is past its capacity at that rate.
+ */
+final class OpenLoadGenerator {
+
+    private final HttpClient client;
+    private final Semaphore inFlight;
+
+    OpenLoadGenerator(HttpClient client, int maxInFlight) {
+        this.client = client;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * @param requests returns the next request, or null if none can be built
+     *                 (e.g. no token left to log out); counted as skipped
+     * @param onSuccess called with every 2xx response, also during warmup
+     */
+    void run(EndpointStats stats,
+             Duration warmup,
+             Duration duration,
+             Supplier<HttpRequest> requests,
+             Consumer<HttpResponse<String>> onSuccess) {
+
+        long intervalNanos = (long) (1_000_000_000L / stats.targetRate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (long i = 0; ; i++) {
+
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+
+                sleepUntil(intended);
+
+                boolean measured = intended >= measureFrom;
+                HttpRequest request = requests.get();
+
+                if (request == null) {
+                    if (measured) {
+                        stats.skipped.increment();
+                    }
+                    continue;
+                }
+
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        stats.dropped.increment();
+                    }
+                    continue;
+                }
+
+                senders.execute(() -> send(stats, request, intended, measured, onSuccess));
+            }
+        }
+
+        stats.measuredFor(duration);
+    }
+
+    private void send(EndpointStats stats,
+                      HttpRequest request,
+                      long intended,
+                      boolean measured,
+                      Consumer<HttpResponse<String>> onSuccess) {
+
+        long sent = System.nanoTime();
+
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() / 100 == 2;
+
+            if (measured) {
+                stats.record(intended, sent, System.nanoTime(), success);
+            }
+            if (success) {
+                onSuccess.accept(response);
+            }
+
+        } catch (IOException ex) {
+            if (measured) {
+                stats.record(intended, sent, System.nanoTime(), false);
+            }
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
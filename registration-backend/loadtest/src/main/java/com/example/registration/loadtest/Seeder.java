@@ -0,0 +1,106 @@
+package com.example.registration.loadtest;
+
+import com.example.registration.dto.RegisterRequest;
+import com.example.registration.dto.UserProfileRequest;
+import com.example.registration.entity.UserAuth;
+import com.example.registration.enums.Roles;
+import com.example.registration.service.AuthService;
+import com.example.registration.service.UserService;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the accounts the run logs in with, through the same services the
+ * HTTP endpoints use so passwords, profiles and audit rows look real.
+ */
+final class Seeder {
+
+    static final String PASSWORD = "LoadTest#Passw0rd";
+    static final String ADMIN_EMAIL = "loadtest.admin@example.com";
+
+    private final AuthService authService;
+    private final UserService userService;
+
+    Seeder(AuthService authService, UserService userService) {
+        this.authService = authService;
+        this.userService = userService;
+    }
+
+    static String userEmail(int index) {
+        return "loadtest.user" + index + "@example.com";
+    }
+
+    void seed(int users, int threads) throws Exception {
+
+        register(ADMIN_EMAIL, Roles.SUPER_ADMIN);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> pending = new ArrayList<>(users);
+
+            for (int i = 0; i < users; i++) {
+                int index = i;
+                pending.add(pool.submit(() -> seedUser(index)));
+            }
+
+            for (Future<?> future : pending) {
+                future.get();
+            }
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void seedUser(int index) {
+
+        String email = userEmail(index);
+        UserAuth auth = register(email, Roles.USER);
+
+        // createProfile checks the caller, act as the user themselves
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                        email,
+                        null,
+                        List.of(new SimpleGrantedAuthority(Roles.USER.name()))
+                )
+        );
+
+        try {
+            UserProfileRequest profile = new UserProfileRequest();
+            profile.setName("Load Test User " + index);
+            profile.setPhone(String.format("98%08d", index));
+            profile.setAddress(index + " Benchmark Avenue");
+            profile.setDob(LocalDate.of(1990, 1, 1).plusDays(index % 3650));
+            profile.setGender(index % 2 == 0 ? "Female" : "Male");
+            profile.setQualification("Graduate");
+            profile.setLanguages("English");
+            profile.setAge(25 + index % 40);
+            profile.setEmailId(email);
+
+            userService.createProfile(auth.getId(), profile);
+
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private UserAuth register(String email, Roles role) {
+
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        request.setRole(role);
+
+        return authService.register(request);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.registration.cache;
+
+import com.example.registration.dto.CacheStatsResponse;
+import com.example.registration.entity.UserAuth;
+import com.example.registration.logging.BaseLogger;
+import com.example.registration.repository.UserAuthRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache in front of UserAuthRepository.
+ *
+ * Entries are held once, keyed by id, with a secondary email -> id index
+ * that is cleaned up whenever the primary entry goes away. Every caller
+ * gets its own detached copy, so mutating a returned account never leaks
+ * into the cache until it is written back through {@link #save(UserAuth)}.
+ */
+@Component
+public class UserAuthCache extends BaseLogger {
+
+    private final UserAuthRepository authRepo;
+    private final Cache<Long, UserAuth> byId;
+    private final ConcurrentMap<String, Long> idByEmail = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserAuthCache(
+            UserAuthRepository authRepo,
+            @Value("${cache.user-auth.maximum-size:10000}") long maximumSize,
+            @Value("${cache.user-auth.ttl:10m}") Duration ttl) {
+
+        this.authRepo = authRepo;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    public Optional<UserAuth> findByEmail(String email) {
+
+        Long id = idByEmail.get(email);
+        UserAuth cached = id != null ? byId.getIfPresent(id) : null;
+
+        if (cached != null && cached.getEmail().equals(email)) {
+            hits.increment();
+            return Optional.of(cached.copy());
+        }
+
+        misses.increment();
+
+        return authRepo.findByEmail(email).map(this::load);
+    }
+
+    public Optional<UserAuth> findById(Long id) {
+
+        UserAuth cached = byId.getIfPresent(id);
+
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.copy());
+        }
+
+        misses.increment();
+
+        return authRepo.findById(id).map(this::load);
+    }
+
+    /**
+     * Writes the account through to the repository and refreshes the entry.
+     */
+    public UserAuth save(UserAuth auth) {
+
+        UserAuth saved = authRepo.save(auth);
+
+        byId.put(saved.getId(), saved.copy());
+        idByEmail.put(saved.getEmail(), saved.getId());
+
+        return saved;
+    }
+
+    /**
+     * Swaps the password hash in a single conditional UPDATE, leaving every
+     * other column as it is in the database. The entry is dropped rather
+     * than patched, so the next read sees the stored row.
+     */
+    public boolean updatePasswordIfUnchanged(Long id, String oldHash, String newHash) {
+
+        boolean updated = authRepo.updatePasswordIfUnchanged(id, oldHash, newHash) == 1;
+        byId.invalidate(id);
+
+        return updated;
+    }
+
+    public void deleteById(Long id) {
+
+        authRepo.deleteById(id);
+        byId.invalidate(id);
+    }
+
+    public CacheStatsResponse stats() {
+
+        return new CacheStatsResponse(
+                byId.estimatedSize(),
+                hits.sum(),
+                misses.sum(),
+                evictions.sum()
+        );
+    }
+
+    private UserAuth load(UserAuth fromDb) {
+
+        // A concurrent save may already have published a newer copy, keep it
+        byId.asMap().putIfAbsent(fromDb.getId(), fromDb.copy());
+        idByEmail.put(fromDb.getEmail(), fromDb.getId());
+
+        return fromDb;
+    }
+
+    private void onRemoval(Long id, UserAuth auth, RemovalCause cause) {
+
+        if (cause.wasEvicted()) {
+            evictions.increment();
+        }
+
+        // Replacements keep the id, only drop the index for a real removal
+        if (auth != null && cause != RemovalCause.REPLACED) {
+            idByEmail.remove(auth.getEmail(), id);
+        }
+
+        log.debug("User auth cache entry removed authId={} cause={}", id, cause);
+    }
+}
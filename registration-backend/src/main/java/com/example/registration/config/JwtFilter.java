@@ -1,19 +1,26 @@
 package com.example.registration.config;
 
+import com.example.registration.security.AuthVersionRegistry;
 import com.example.registration.security.CustomUserDetailsService;
+import com.example.registration.security.RevokedTokenRegistry;
+import com.example.registration.security.VerifiedToken;
+import com.example.registration.security.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -22,8 +29,25 @@ public class JwtFilter extends OncePerRequestFilter {
             LoggerFactory.getLogger(JwtFilter.class);
 
 
-    private JwtUtil jwtUtil;
-    private CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final CustomUserDetailsService userDetailsService;
+    private final AuthVersionRegistry authVersions;
+    private final RevokedTokenRegistry revokedTokens;
+    private final boolean statelessAuth;
+
+    public JwtFilter(
+            VerifiedTokenCache tokenCache,
+            CustomUserDetailsService userDetailsService,
+            AuthVersionRegistry authVersions,
+            RevokedTokenRegistry revokedTokens,
+            @Value("${jwt.stateless-auth:true}") boolean statelessAuth) {
+
+        this.tokenCache = tokenCache;
+        this.userDetailsService = userDetailsService;
+        this.authVersions = authVersions;
+        this.revokedTokens = revokedTokens;
+        this.statelessAuth = statelessAuth;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -41,33 +65,69 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         try {
-            String token = authHeader.substring(7);
+            authenticate(request, authHeader.substring(7));
 
-            String email = jwtUtil.extractEmail(token);
+        } catch (Exception ex) {
+            // Token parsing / validation issue
+            log.warn("JWT processing failed", ex);
+        }
 
-            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+        filterChain.doFilter(request, response);
+    }
 
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(email);
+    private void authenticate(HttpServletRequest request, String token) {
 
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+        // Repeat tokens skip signature verification, see VerifiedTokenCache
+        VerifiedToken verified = tokenCache.verify(token);
 
-                SecurityContextHolder.getContext()
-                        .setAuthentication(authToken);
+        if (revokedTokens.isRevoked(verified)) {
+            log.warn("JWT rejected - token has been revoked");
+            return;
+        }
 
-                log.debug("JWT authentication set in security context");
-            }
+        // Checked in both modes: deactivation bumps the version, which also rejects
+        // tokens whose LOGIN row is still queued in LoginAuditWriter
+        if (!authVersions.isCurrent(verified.getSubject(), verified.getAuthVersion())) {
 
-        } catch (Exception ex) {
-            // Token parsing / validation issue
-            log.warn("JWT processing failed", ex);
+            log.warn("JWT rejected - auth version is stale or account is disabled");
+            return;
         }
 
-        filterChain.doFilter(request, response);
+        // Downstream code reuses the verified claims instead of re-parsing
+        request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verified);
+
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            UsernamePasswordAuthenticationToken authToken = statelessAuth
+                    ? fromClaims(verified)
+                    : fromUserDetails(verified);
+
+            SecurityContextHolder.getContext()
+                    .setAuthentication(authToken);
+
+            log.debug("JWT authentication set in security context");
+        }
+    }
+
+    private UsernamePasswordAuthenticationToken fromClaims(VerifiedToken verified) {
+
+        // Role comes from the signed token, the version check above keeps it current
+        return new UsernamePasswordAuthenticationToken(
+                verified.getSubject(),
+                null,
+                List.of(new SimpleGrantedAuthority(verified.getRole()))
+        );
+    }
+
+    private UsernamePasswordAuthenticationToken fromUserDetails(VerifiedToken verified) {
+
+        UserDetails userDetails =
+                userDetailsService.loadUserByUsername(verified.getSubject());
+
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
     }
 }
@@ -1,7 +1,9 @@
 package com.example.registration.config;
 
 import com.example.registration.enums.Roles;
+import com.example.registration.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,87 +12,89 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
     private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
-    private final byte[] secretKey;
+
+    private static final long TOKEN_VALIDITY_MILLIS = 43200000;
+
+    private static final String ROLE_CLAIM = "role";
+    private static final String AUTH_VERSION_CLAIM = "ver";
+
+    // Key and parser are immutable and thread-safe, build them once
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
     public JwtUtil(
             @Value("${jwt.secret}")
             String secret
     ) {
-        this.secretKey = secret.getBytes(StandardCharsets.UTF_8);
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
-    public String generateToken(String email, Roles role) {
+
+    /**
+     * Signs a new token and returns it with the claims it was built from,
+     * so callers never have to parse a token they just minted.
+     */
+    public VerifiedToken issue(String email, Roles role, int authVersion) {
 
         // ❌ Do NOT log email or role
         log.debug("Generating JWT token");
 
+        // JWT dates have second precision, keep the returned claims identical.
+        // The random jti keeps tokens issued in the same second distinct, so
+        // revoking one session's hash never revokes another's.
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant expiresAt = issuedAt.plusMillis(TOKEN_VALIDITY_MILLIS);
+
         String token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
-                .claim("role", role)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 43200000))
-                .signWith(Keys.hmacShaKeyFor(secretKey), SignatureAlgorithm.HS256)
+                .claim(ROLE_CLAIM, role)
+                .claim(AUTH_VERSION_CLAIM, authVersion)
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
 
         log.debug("JWT token generated successfully");
 
-        return token;
-    }
-
-    public String extractEmail(String token) {
-
-        try {
-            return getClaims(token).getSubject();
-        } catch (Exception ex) {
-            log.warn("Failed to extract email from JWT");
-            throw ex;
-        }
-    }
-
-    public String extractRole(String token) {
-
-        try {
-            return getClaims(token).get("role", String.class);
-        } catch (Exception ex) {
-            log.warn("Failed to extract role from JWT");
-            throw ex;
-        }
-    }
-
-    public Date extractIssuedAt(String token) {
-
-        try {
-            return getClaims(token).getIssuedAt();
-        } catch (Exception ex) {
-            log.warn("Failed to extract JWT issuedAt");
-            throw ex;
-        }
+        return new VerifiedToken(token, email, role.name(), issuedAt, expiresAt, authVersion);
     }
 
-    public Date extractExpiration(String token) {
+    /**
+     * Verifies the signature and expiry once and exposes every claim the
+     * application needs from the single parsed claims object.
+     */
+    public VerifiedToken verify(String token) {
 
         try {
-            return getClaims(token).getExpiration();
-        } catch (Exception ex) {
-            log.warn("Failed to extract JWT expiration");
-            throw ex;
-        }
-    }
-
-    private Claims getClaims(String token) {
-
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
+            Claims claims = parser
                     .parseClaimsJws(token)
                     .getBody();
+
+            // Tokens minted before versioning carry no claim, treat them as 0
+            Integer authVersion = claims.get(AUTH_VERSION_CLAIM, Integer.class);
+
+            return new VerifiedToken(
+                    token,
+                    claims.getSubject(),
+                    claims.get(ROLE_CLAIM, String.class),
+                    claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant(),
+                    authVersion != null ? authVersion : 0
+            );
         } catch (Exception ex) {
             log.warn("JWT parsing failed");
             throw ex;
@@ -0,0 +1,221 @@
+package com.example.registration.config;
+
+import com.example.registration.security.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated endpoints that cost a bcrypt match or an
+ * audit insert, before any of that work starts.
+ *
+ * Every request is charged to the client address, and to the email in the
+ * body so a distributed attack on a single account is caught as well. The
+ * body is read before authentication, so only requests that declare a
+ * Content-Length of at most max-body-bytes are read, and never past it.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(LoginRateLimitFilter.class);
+
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            "/auth/login",
+            "/auth/password-reset-request"
+    );
+
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final RateLimiter byClient;
+    private final RateLimiter byEmail;
+    private final int maxBodyBytes;
+
+    public LoginRateLimitFilter(
+            JsonMapper jsonMapper,
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.client.capacity:30}") int clientCapacity,
+            @Value("${security.rate-limit.client.period:60s}") Duration clientPeriod,
+            @Value("${security.rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${security.rate-limit.email.period:60s}") Duration emailPeriod,
+            @Value("${security.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${security.rate-limit.max-body-bytes:4096}") int maxBodyBytes) {
+
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.byClient = new RateLimiter(clientCapacity, clientPeriod, maxKeys);
+        this.byEmail = new RateLimiter(emailCapacity, emailPeriod, maxKeys);
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getServletPath();
+
+        long wait = byClient.tryAcquire(path + '|' + request.getRemoteAddr());
+        if (wait > 0) {
+            log.warn("Rate limited by client path={} client={}", path, request.getRemoteAddr());
+            reject(response, wait);
+            return;
+        }
+
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            log.warn("Request without Content-Length rejected path={} client={}", path, request.getRemoteAddr());
+            fail(response, HttpStatus.LENGTH_REQUIRED, "Content-Length is required");
+            return;
+        }
+        if (length > maxBodyBytes) {
+            log.warn("Oversized request rejected path={} length={} client={}", path, length, request.getRemoteAddr());
+            fail(response, HttpStatus.CONTENT_TOO_LARGE, "Request body is too large");
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request, (int) length);
+        String email = extractEmail(cached.body);
+
+        if (email != null) {
+            wait = byEmail.tryAcquire(path + '|' + email);
+            if (wait > 0) {
+                log.warn("Rate limited by email path={} email={}", path, email);
+                reject(response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cached, response);
+    }
+
+    private String extractEmail(byte[] body) {
+
+        if (body.length == 0) {
+            return null;
+        }
+
+        try {
+            JsonNode email = jsonMapper.readTree(body).get("email");
+            return email != null && email.isString()
+                    ? email.asString().trim().toLowerCase(Locale.ROOT)
+                    : null;
+
+        } catch (JacksonException ex) {
+            // Malformed bodies are rejected by the controller, the client limit still applies
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        fail(response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please retry later");
+    }
+
+    private void fail(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), Map.of("message", message));
+    }
+
+    /**
+     * Reads the body once so the email can be inspected and the controller
+     * still gets the full stream. Never reads more than the declared length.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, int length) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes(length);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+
+                    // The body is already in memory, so it is all available at once
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package com.example.registration.config;
 
 import com.example.registration.enums.Roles;
+import com.example.registration.security.CalibratedPasswordEncoder;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.config.Customizer;
@@ -19,9 +20,11 @@ import org.springframework.http.HttpMethod;
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final LoginRateLimitFilter loginRateLimitFilter;
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, LoginRateLimitFilter loginRateLimitFilter) {
         this.jwtFilter = jwtFilter;
+        this.loginRateLimitFilter = loginRateLimitFilter;
     }
 
     @Bean
@@ -37,6 +40,10 @@ public class SecurityConfig {
                         // ✅ ALLOW PREFLIGHT REQUESTS
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // Streamed responses finish on an ASYNC dispatch, the original
+                        // request was already authorized and the JWT is not re-read
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // PUBLIC ENDPOINTS
                         .requestMatchers("/auth/**")
                             .permitAll()
@@ -65,14 +72,23 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(loginRateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
 
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CalibratedPasswordEncoder passwordEncoder(
+            @Value("${security.password.cost:0}") int fixedCost,
+            @Value("${security.password.target-hash-millis:50}") long targetHashMillis,
+            @Value("${security.password.min-cost:10}") int minCost,
+            @Value("${security.password.max-cost:16}") int maxCost) {
+
+        // A fixed cost skips calibration, e.g. to pin every node to the same value
+        return fixedCost > 0
+                ? new CalibratedPasswordEncoder(fixedCost)
+                : CalibratedPasswordEncoder.calibrate(targetHashMillis, minCost, maxCost);
     }
 }
 
@@ -3,7 +3,7 @@ package com.example.registration.controller;
 import com.example.registration.constants.ApiMessages;
 import com.example.registration.dto.ChangeRoleRequest;
 import com.example.registration.dto.ChangeStatusRequest;
-import com.example.registration.entity.PasswordResetRequest;
+import com.example.registration.dto.PasswordResetRequestResponse;
 import com.example.registration.entity.UserAuth;
 import com.example.registration.logging.BaseLogger;
 import com.example.registration.service.AdminService;
@@ -95,7 +95,7 @@ public class AdminController extends BaseLogger {
     }
 
     @GetMapping("/password-reset-audit")
-    public List<PasswordResetRequest> audit() {
+    public List<PasswordResetRequestResponse> audit() {
 
         log.info("Admin requested password reset audit list");
 
@@ -1,13 +1,13 @@
 package com.example.registration.controller;
 
-import com.example.registration.config.JwtUtil;
+import com.example.registration.cache.UserAuthCache;
 import com.example.registration.dto.*;
 import com.example.registration.logging.BaseLogger;
-import com.example.registration.repository.UserAuthRepository;
+import com.example.registration.security.RevokedTokenRegistry;
+import com.example.registration.security.VerifiedToken;
 import com.example.registration.service.AuthService;
 import com.example.registration.service.LoginAuditService;
 import com.example.registration.service.SupportPasswordResetService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,24 +20,24 @@ import java.util.Map;
 public class AuthController extends BaseLogger {
 
     private final AuthService authService;
-    private final UserAuthRepository userAuthRepository;
+    private final UserAuthCache userAuthCache;
     private final LoginAuditService loginAuditService;
-    private final JwtUtil jwtUtil;
+    private final RevokedTokenRegistry revokedTokens;
     private final SupportPasswordResetService supportPasswordResetService;
     private static final String MESSAGE = "message";
 
 
     public AuthController(
             AuthService authService,
-            UserAuthRepository userAuthRepository,
+            UserAuthCache userAuthCache,
             LoginAuditService loginAuditService,
-            JwtUtil jwtUtil,
+            RevokedTokenRegistry revokedTokens,
             SupportPasswordResetService supportPasswordResetService) {
 
         this.authService = authService;
-        this.userAuthRepository = userAuthRepository;
+        this.userAuthCache = userAuthCache;
         this.loginAuditService = loginAuditService;
-        this.jwtUtil = jwtUtil;
+        this.revokedTokens = revokedTokens;
         this.supportPasswordResetService = supportPasswordResetService;
     }
 
@@ -70,27 +70,24 @@ public class AuthController extends BaseLogger {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(HttpServletRequest request) {
+    public ResponseEntity<Void> logout(
+            @RequestAttribute(name = VerifiedToken.REQUEST_ATTRIBUTE, required = false)
+            VerifiedToken token) {
 
-        String header = request.getHeader("Authorization");
-
-        if (header == null || !header.startsWith("Bearer ")) {
+        // JwtFilter attaches the token only when its signature verified
+        if (token == null) {
             log.warn("Logout called without valid Authorization header");
             return ResponseEntity.ok().build();
         }
 
-        String jwt = header.substring(7);
-        String email = jwtUtil.extractEmail(jwt);
+        String email = token.getSubject();
 
         log.info("Logout request received for email={}", email);
 
-        userAuthRepository.findByEmail(email).ifPresent(user ->
-                loginAuditService.recordLogout(
-                        user,
-                        jwt,
-                        jwtUtil.extractIssuedAt(jwt).toInstant(),
-                        jwtUtil.extractExpiration(jwt).toInstant()
-                )
+        revokedTokens.revoke(token);
+
+        userAuthCache.findByEmail(email).ifPresent(user ->
+                loginAuditService.recordLogout(user, token)
         );
 
         log.info("Logout recorded successfully for email={}", email);
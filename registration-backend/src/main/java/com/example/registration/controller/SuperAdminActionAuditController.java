@@ -1,15 +1,27 @@
 package com.example.registration.controller;
 
-import com.example.registration.entity.ActionAudit;
+import com.example.registration.dto.ActionAuditFilter;
+import com.example.registration.dto.ActionAuditPageResponse;
+import com.example.registration.dto.ActionAuditResponse;
+import com.example.registration.dto.ActionAuditStateResponse;
+import com.example.registration.dto.ActionAuditStatsResponse;
+import com.example.registration.dto.ActionAuditTextSearchResponse;
 import com.example.registration.enums.ActionStatus;
 import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
 import com.example.registration.logging.BaseLogger;
 import com.example.registration.service.ActionAuditQueryService;
+import com.example.registration.service.ActionAuditRollupJob;
+import com.example.registration.service.ActionAuditRollupService;
+import com.example.registration.service.ActionAuditTail;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/super-admin/action-audit")
@@ -17,65 +29,114 @@ import java.util.List;
 public class SuperAdminActionAuditController extends BaseLogger {
 
     private final ActionAuditQueryService queryService;
+    private final ActionAuditRollupService rollupService;
+    private final ActionAuditRollupJob rollupJob;
+    private final ActionAuditTail tail;
+
+    public SuperAdminActionAuditController(
+            ActionAuditQueryService queryService,
+            ActionAuditRollupService rollupService,
+            ActionAuditRollupJob rollupJob,
+            ActionAuditTail tail) {
 
-    public SuperAdminActionAuditController(ActionAuditQueryService queryService) {
         this.queryService = queryService;
+        this.rollupService = rollupService;
+        this.rollupJob = rollupJob;
+        this.tail = tail;
     }
 
-    // 🔹 1. Get ALL audits
-    @GetMapping
-    public List<ActionAudit> getAllAudits() {
+    // 🔹 1. Search with any combination of filters, keyset paginated
+    @GetMapping("/search")
+    public ActionAuditPageResponse search(
+            @RequestParam(required = false) ActionType type,
+            @RequestParam(required = false) ActionStatus status,
+            @RequestParam(required = false) String actorEmail,
+            @RequestParam(required = false) Roles actorRole,
+            @RequestParam(required = false) Long targetUserId,
+            @RequestParam(required = false) String targetEmail,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
 
-        log.info("SUPER_ADMIN requested all action audits");
+        log.info("SUPER_ADMIN requested action audit search");
 
-        return queryService.getAll();
+        return queryService.search(
+                new ActionAuditFilter(type, status, actorEmail, actorRole,
+                        targetUserId, targetEmail, from, to),
+                cursor,
+                size
+        );
     }
 
-    // 🔹 2. Filter by action type
-    @GetMapping("/type/{type}")
-    public List<ActionAudit> getByType(@PathVariable ActionType type) {
+    // 🔹 2. Free-text search over emails, reasons and states
+    @GetMapping("/text-search")
+    public ActionAuditTextSearchResponse textSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Integer size
+    ) {
 
-        log.info("SUPER_ADMIN requested audits by type={}", type);
+        log.info("SUPER_ADMIN requested action audit text search");
 
-        return queryService.getByType(type);
+        return queryService.textSearch(q, from, to, size);
     }
 
-    // 🔹 3. Filter by status (SUCCESS / FAILED)
-    @GetMapping("/status/{status}")
-    public List<ActionAudit> getByStatus(@PathVariable ActionStatus status) {
+    // 🔹 3. Daily counts by type, status and actor role, UTC days from..to inclusive
+    @GetMapping("/stats")
+    public ActionAuditStatsResponse getStats(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to
+    ) {
+
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(29);
 
-        log.info("SUPER_ADMIN requested audits by status={}", status);
+        log.info("SUPER_ADMIN requested action audit stats from={} to={}", start, end);
 
-        return queryService.getByStatus(status);
+        return rollupService.stats(start, end);
     }
 
-    // 🔹 4. Filter by type + status
-    @GetMapping("/filter")
-    public List<ActionAudit> getByTypeAndStatus(
-            @RequestParam ActionType type,
-            @RequestParam ActionStatus status
+    // 🔹 4. Rebuild the daily counts of from..to from the raw audit rows
+    @PostMapping("/stats/recount")
+    public Map<String, Object> recountStats(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to
     ) {
 
-        log.info(
-                "SUPER_ADMIN requested audits by type={} and status={}",
-                type, status
-        );
+        log.info("SUPER_ADMIN requested action audit stats recount from={} to={}", from, to);
+
+        return Map.of("days", rollupJob.recount(from, to));
+    }
+
+    // 🔹 5. One entry with its stored before/after state
+    @GetMapping("/{id}")
+    public ActionAuditResponse getAudit(@PathVariable Long id) {
+
+        log.info("SUPER_ADMIN requested action audit id={}", id);
+
+        return queryService.getAudit(id);
+    }
+
+    // 🔹 6. Full before/after state of one entry
+    @GetMapping("/{id}/state")
+    public ActionAuditStateResponse getState(@PathVariable Long id) {
 
-        return queryService.getByTypeAndStatus(type, status);
+        log.info("SUPER_ADMIN requested action audit state id={}", id);
+
+        return queryService.getState(id);
     }
 
-    // 🔹 5. Filter by date range
-    @GetMapping("/date-range")
-    public List<ActionAudit> getByDateRange(
-            @RequestParam Instant from,
-            @RequestParam Instant to
+    // 🔹 7. Live stream of newly recorded actions, resumable with Last-Event-ID
+    @GetMapping("/tail")
+    public SseEmitter tail(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
     ) {
 
-        log.info(
-                "SUPER_ADMIN requested audits from={} to={}",
-                from, to
-        );
+        log.info("SUPER_ADMIN subscribed to action audit tail lastEventId={}", lastEventId);
 
-        return queryService.getByDateRange(from, to);
+        return tail.subscribe(lastEventId);
     }
 }
@@ -0,0 +1,108 @@
+package com.example.registration.controller;
+
+import com.example.registration.cache.UserAuthCache;
+import com.example.registration.dto.ActionAuditJournalStatsResponse;
+import com.example.registration.dto.ActionAuditTailStatsResponse;
+import com.example.registration.dto.ActionAuditTextIndexStatsResponse;
+import com.example.registration.dto.AuditWriterStatsResponse;
+import com.example.registration.dto.CacheStatsResponse;
+import com.example.registration.dto.PasswordHashingStatsResponse;
+import com.example.registration.logging.BaseLogger;
+import com.example.registration.security.PasswordHashingService;
+import com.example.registration.security.VerifiedTokenCache;
+import com.example.registration.service.ActionAuditShipper;
+import com.example.registration.service.ActionAuditTail;
+import com.example.registration.service.ActionAuditTextIndex;
+import com.example.registration.service.LoginAuditWriter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/super-admin/metrics")
+@PreAuthorize("hasAuthority('SUPER_ADMIN')")
+public class SuperAdminMetricsController extends BaseLogger {
+
+    private final UserAuthCache userAuthCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAuditWriter loginAuditWriter;
+    private final ActionAuditShipper actionAuditShipper;
+    private final ActionAuditTextIndex actionAuditTextIndex;
+    private final ActionAuditTail actionAuditTail;
+
+    public SuperAdminMetricsController(
+            UserAuthCache userAuthCache,
+            VerifiedTokenCache verifiedTokenCache,
+            PasswordHashingService passwordHashingService,
+            LoginAuditWriter loginAuditWriter,
+            ActionAuditShipper actionAuditShipper,
+            ActionAuditTextIndex actionAuditTextIndex,
+            ActionAuditTail actionAuditTail) {
+
+        this.userAuthCache = userAuthCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.passwordHashingService = passwordHashingService;
+        this.loginAuditWriter = loginAuditWriter;
+        this.actionAuditShipper = actionAuditShipper;
+        this.actionAuditTextIndex = actionAuditTextIndex;
+        this.actionAuditTail = actionAuditTail;
+    }
+
+    @GetMapping("/user-auth-cache")
+    public CacheStatsResponse getUserAuthCacheStats() {
+
+        log.info("SUPER_ADMIN requested user auth cache stats");
+
+        return userAuthCache.stats();
+    }
+
+    @GetMapping("/token-cache")
+    public CacheStatsResponse getTokenCacheStats() {
+
+        log.info("SUPER_ADMIN requested verified token cache stats");
+
+        return verifiedTokenCache.stats();
+    }
+
+    @GetMapping("/password-hashing")
+    public PasswordHashingStatsResponse getPasswordHashingStats() {
+
+        log.info("SUPER_ADMIN requested password hashing pool stats");
+
+        return passwordHashingService.stats();
+    }
+
+    @GetMapping("/login-audit-writer")
+    public AuditWriterStatsResponse getLoginAuditWriterStats() {
+
+        log.info("SUPER_ADMIN requested login audit writer stats");
+
+        return loginAuditWriter.stats();
+    }
+
+    @GetMapping("/action-audit-journal")
+    public ActionAuditJournalStatsResponse getActionAuditJournalStats() {
+
+        log.info("SUPER_ADMIN requested action audit journal stats");
+
+        return actionAuditShipper.stats();
+    }
+
+    @GetMapping("/action-audit-text-index")
+    public ActionAuditTextIndexStatsResponse getActionAuditTextIndexStats() {
+
+        log.info("SUPER_ADMIN requested action audit text index stats");
+
+        return actionAuditTextIndex.stats();
+    }
+
+    @GetMapping("/action-audit-tail")
+    public ActionAuditTailStatsResponse getActionAuditTailStats() {
+
+        log.info("SUPER_ADMIN requested action audit tail stats");
+
+        return actionAuditTail.stats();
+    }
+}
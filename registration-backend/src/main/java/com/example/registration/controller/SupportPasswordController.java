@@ -1,12 +1,26 @@
 package com.example.registration.controller;
 
-import com.example.registration.entity.LoginAudit;
-import com.example.registration.entity.PasswordResetRequest;
+import com.example.registration.dto.LoginAuditFilter;
+import com.example.registration.dto.LoginAuditPageResponse;
+import com.example.registration.dto.LoginTelemetryResponse;
+import com.example.registration.dto.PasswordResetRequestResponse;
+import com.example.registration.enums.ExportFormat;
+import com.example.registration.enums.LoginReason;
+import com.example.registration.enums.LoginType;
 import com.example.registration.logging.BaseLogger;
+import com.example.registration.service.LoginAuditExportService;
 import com.example.registration.service.LoginAuditService;
+import com.example.registration.service.LoginTelemetryService;
 import com.example.registration.service.SupportPasswordResetService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -14,26 +28,90 @@ import java.util.List;
 public class SupportPasswordController extends BaseLogger {
 
     private final LoginAuditService loginAuditService;
+    private final LoginAuditExportService loginAuditExportService;
+    private final LoginTelemetryService loginTelemetryService;
     private final SupportPasswordResetService supportPasswordResetService;
 
     public SupportPasswordController(
             LoginAuditService loginAuditService,
+            LoginAuditExportService loginAuditExportService,
+            LoginTelemetryService loginTelemetryService,
             SupportPasswordResetService supportPasswordResetService) {
 
         this.loginAuditService = loginAuditService;
+        this.loginAuditExportService = loginAuditExportService;
+        this.loginTelemetryService = loginTelemetryService;
         this.supportPasswordResetService = supportPasswordResetService;
     }
 
     @GetMapping("/login-audit")
-    public List<LoginAudit> getLoginAudit() {
+    public LoginAuditPageResponse getLoginAudit(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) LoginType loginType,
+            @RequestParam(required = false) LoginReason reason,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+
+        log.info("SUPPORT requested login audit page");
+
+        return loginAuditService.getAudits(
+                new LoginAuditFilter(email, loginType, reason, from, to),
+                cursor,
+                size
+        );
+    }
+
+    @GetMapping("/login-audit/export")
+    public ResponseEntity<StreamingResponseBody> exportLoginAudit(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) LoginType loginType,
+            @RequestParam(required = false) LoginReason reason,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            HttpServletRequest request
+    ) {
+
+        log.info("SUPPORT requested login audit export format={} gzip={} from={} to={}",
+                format, gzip, from, to);
+
+        StreamingResponseBody body = loginAuditExportService.export(
+                new LoginAuditFilter(email, loginType, reason, from, to),
+                format,
+                gzip,
+                request
+        );
+
+        String fileName = "login-audit." + format.getExtension() + (gzip ? ".gz" : "");
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(
+                        gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    @GetMapping("/login-telemetry")
+    public LoginTelemetryResponse getLoginTelemetry(
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) LoginType loginType,
+            @RequestParam(required = false) LoginReason reason,
+            @RequestParam(required = false) String role
+    ) {
 
-        log.info("SUPPORT requested login audit list");
+        log.debug("SUPPORT requested login telemetry minutes={} type={} reason={} role={}",
+                minutes, loginType, reason, role);
 
-        return loginAuditService.getAllAudits();
+        return loginTelemetryService.query(minutes, loginType, reason, role);
     }
 
     @GetMapping("/password-reset/requests")
-    public List<PasswordResetRequest> getAll() {
+    public List<PasswordResetRequestResponse> getAll() {
 
         log.info("SUPPORT requested password reset requests");
 
@@ -1,13 +1,13 @@
 package com.example.registration.controller;
 
+import com.example.registration.cache.UserAuthCache;
+import com.example.registration.dto.LoginAuditPageResponse;
 import com.example.registration.dto.UserProfileRequest;
 import com.example.registration.dto.UserViewResponse;
-import com.example.registration.entity.LoginAudit;
 import com.example.registration.entity.User;
 import com.example.registration.entity.UserAuth;
 import com.example.registration.exception.AccessDeniedException;
 import com.example.registration.logging.BaseLogger;
-import com.example.registration.repository.UserAuthRepository;
 import com.example.registration.service.*;
 import jakarta.validation.Valid;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,18 +21,18 @@ import java.util.List;
 public class UserController extends BaseLogger {
 
     private final UserService userService;
-    private final UserAuthRepository authRepo;
+    private final UserAuthCache authCache;
     private final LoginAuditService loginAuditService;
     private final AdminService adminService;
 
     public UserController(
             UserService userService,
-            UserAuthRepository authRepo,
+            UserAuthCache authCache,
             LoginAuditService loginAuditService,
             AdminService adminService) {
 
         this.userService = userService;
-        this.authRepo = authRepo;
+        this.authCache = authCache;
         this.loginAuditService = loginAuditService;
         this.adminService = adminService;
     }
@@ -57,7 +57,7 @@ public class UserController extends BaseLogger {
 
         String email = authentication.getName();
 
-        UserAuth auth = authRepo.findByEmail(email)
+        UserAuth auth = authCache.findByEmail(email)
                 .orElseThrow(() -> new AccessDeniedException("Unauthorized"));
 
         if (auth.isProfileCreated()) {
@@ -134,11 +134,14 @@ public class UserController extends BaseLogger {
     }
 
     @GetMapping("/me/login-history")
-    public List<LoginAudit> getMyLoginHistory() {
+    public LoginAuditPageResponse getMyLoginHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
 
         log.info("User requested own login history");
 
-        return loginAuditService.getCurrentUserAudit();
+        return loginAuditService.getCurrentUserAudit(cursor, size);
     }
 
     @GetMapping("/auth-users")
@@ -0,0 +1,20 @@
+package com.example.registration.dto;
+
+import java.time.LocalDate;
+
+public class ActionAuditDayCount {
+
+    private LocalDate day;
+    private long total;
+    private long failed;
+
+    public ActionAuditDayCount(LocalDate day, long total, long failed) {
+        this.day = day;
+        this.total = total;
+        this.failed = failed;
+    }
+
+    public LocalDate getDay() { return day; }
+    public long getTotal() { return total; }
+    public long getFailed() { return failed; }
+}
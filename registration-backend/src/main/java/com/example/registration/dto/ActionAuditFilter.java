@@ -0,0 +1,52 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+
+import java.time.Instant;
+
+/**
+ * Optional filters for the action audit search. Null means "any";
+ * the time window is [from, to).
+ */
+public class ActionAuditFilter {
+
+    private final ActionType actionType;
+    private final ActionStatus actionStatus;
+    private final String actorEmail;
+    private final Roles actorRole;
+    private final Long targetUserId;
+    private final String targetUserEmail;
+    private final Instant from;
+    private final Instant to;
+
+    public ActionAuditFilter(
+            ActionType actionType,
+            ActionStatus actionStatus,
+            String actorEmail,
+            Roles actorRole,
+            Long targetUserId,
+            String targetUserEmail,
+            Instant from,
+            Instant to
+    ) {
+        this.actionType = actionType;
+        this.actionStatus = actionStatus;
+        this.actorEmail = actorEmail;
+        this.actorRole = actorRole;
+        this.targetUserId = targetUserId;
+        this.targetUserEmail = targetUserEmail;
+        this.from = from;
+        this.to = to;
+    }
+
+    public ActionType getActionType() { return actionType; }
+    public ActionStatus getActionStatus() { return actionStatus; }
+    public String getActorEmail() { return actorEmail; }
+    public Roles getActorRole() { return actorRole; }
+    public Long getTargetUserId() { return targetUserId; }
+    public String getTargetUserEmail() { return targetUserEmail; }
+    public Instant getFrom() { return from; }
+    public Instant getTo() { return to; }
+}
@@ -0,0 +1,78 @@
+package com.example.registration.dto;
+
+public class ActionAuditJournalStatsResponse {
+
+    private boolean open;
+    private String nodeId;
+    private int segments;
+    private long lastSeq;
+    private long shippedSeq;
+    private long lag;
+    private long appended;
+    private long rejected;
+    private long skipped;
+    private long shipped;
+    private long batches;
+    private long shipFailures;
+    private long dropped;
+    private double avgAppendMicros;
+    private double maxAppendMicros;
+    private double avgShipMillis;
+    private double maxShipMillis;
+
+    public ActionAuditJournalStatsResponse(
+            boolean open,
+            String nodeId,
+            int segments,
+            long lastSeq,
+            long shippedSeq,
+            long lag,
+            long appended,
+            long rejected,
+            long skipped,
+            long shipped,
+            long batches,
+            long shipFailures,
+            long dropped,
+            double avgAppendMicros,
+            double maxAppendMicros,
+            double avgShipMillis,
+            double maxShipMillis
+    ) {
+        this.open = open;
+        this.nodeId = nodeId;
+        this.segments = segments;
+        this.lastSeq = lastSeq;
+        this.shippedSeq = shippedSeq;
+        this.lag = lag;
+        this.appended = appended;
+        this.rejected = rejected;
+        this.skipped = skipped;
+        this.shipped = shipped;
+        this.batches = batches;
+        this.shipFailures = shipFailures;
+        this.dropped = dropped;
+        this.avgAppendMicros = avgAppendMicros;
+        this.maxAppendMicros = maxAppendMicros;
+        this.avgShipMillis = avgShipMillis;
+        this.maxShipMillis = maxShipMillis;
+    }
+
+    public boolean isOpen() { return open; }
+    public String getNodeId() { return nodeId; }
+    public int getSegments() { return segments; }
+    public long getLastSeq() { return lastSeq; }
+    public long getShippedSeq() { return shippedSeq; }
+    public long getLag() { return lag; }
+    public long getAppended() { return appended; }
+    public long getRejected() { return rejected; }
+    public long getSkipped() { return skipped; }
+    public long getShipped() { return shipped; }
+    public long getBatches() { return batches; }
+    public long getShipFailures() { return shipFailures; }
+    public long getDropped() { return dropped; }
+    public double getAvgAppendMicros() { return avgAppendMicros; }
+    public double getMaxAppendMicros() { return maxAppendMicros; }
+    public double getAvgShipMillis() { return avgShipMillis; }
+    public double getMaxShipMillis() { return maxShipMillis; }
+}
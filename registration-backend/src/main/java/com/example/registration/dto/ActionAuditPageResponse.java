@@ -0,0 +1,21 @@
+package com.example.registration.dto;
+
+import java.util.List;
+
+/**
+ * A page of action audit search results, newest first. Pass nextCursor
+ * back as ?cursor= to read the following page; it is null on the last page.
+ */
+public class ActionAuditPageResponse {
+
+    private List<ActionAuditSummaryResponse> items;
+    private String nextCursor;
+
+    public ActionAuditPageResponse(List<ActionAuditSummaryResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ActionAuditSummaryResponse> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,64 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+
+import java.time.Instant;
+
+/**
+ * One action_audit row as listed to SUPER_ADMIN, read with a constructor
+ * projection instead of loading the entity.
+ */
+public class ActionAuditResponse {
+
+    private Long id;
+    private String actorEmail;
+    private Roles actorRole;
+    private Long targetUserId;
+    private String targetUserEmail;
+    private ActionType actionType;
+    private ActionStatus actionStatus;
+    private String actionReason;
+    private String beforeState;
+    private String afterState;
+    private Instant performedAt;
+
+    public ActionAuditResponse(
+            Long id,
+            String actorEmail,
+            Roles actorRole,
+            Long targetUserId,
+            String targetUserEmail,
+            ActionType actionType,
+            ActionStatus actionStatus,
+            String actionReason,
+            String beforeState,
+            String afterState,
+            Instant performedAt
+    ) {
+        this.id = id;
+        this.actorEmail = actorEmail;
+        this.actorRole = actorRole;
+        this.targetUserId = targetUserId;
+        this.targetUserEmail = targetUserEmail;
+        this.actionType = actionType;
+        this.actionStatus = actionStatus;
+        this.actionReason = actionReason;
+        this.beforeState = beforeState;
+        this.afterState = afterState;
+        this.performedAt = performedAt;
+    }
+
+    public Long getId() { return id; }
+    public String getActorEmail() { return actorEmail; }
+    public Roles getActorRole() { return actorRole; }
+    public Long getTargetUserId() { return targetUserId; }
+    public String getTargetUserEmail() { return targetUserEmail; }
+    public ActionType getActionType() { return actionType; }
+    public ActionStatus getActionStatus() { return actionStatus; }
+    public String getActionReason() { return actionReason; }
+    public String getBeforeState() { return beforeState; }
+    public String getAfterState() { return afterState; }
+    public Instant getPerformedAt() { return performedAt; }
+}
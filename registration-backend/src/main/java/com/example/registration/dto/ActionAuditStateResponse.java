@@ -0,0 +1,53 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.ActionType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full before and after state of one action_audit row, rebuilt from the
+ * stored field diffs. complete is false when older free-text rows were in
+ * the way and some fields could not be restored.
+ */
+public class ActionAuditStateResponse {
+
+    private Long auditId;
+    private ActionType actionType;
+    private String targetUserEmail;
+    private Instant performedAt;
+    private List<String> changedFields;
+    private Map<String, Object> before;
+    private Map<String, Object> after;
+    private boolean complete;
+
+    public ActionAuditStateResponse(
+            Long auditId,
+            ActionType actionType,
+            String targetUserEmail,
+            Instant performedAt,
+            List<String> changedFields,
+            Map<String, Object> before,
+            Map<String, Object> after,
+            boolean complete
+    ) {
+        this.auditId = auditId;
+        this.actionType = actionType;
+        this.targetUserEmail = targetUserEmail;
+        this.performedAt = performedAt;
+        this.changedFields = changedFields;
+        this.before = before;
+        this.after = after;
+        this.complete = complete;
+    }
+
+    public Long getAuditId() { return auditId; }
+    public ActionType getActionType() { return actionType; }
+    public String getTargetUserEmail() { return targetUserEmail; }
+    public Instant getPerformedAt() { return performedAt; }
+    public List<String> getChangedFields() { return changedFields; }
+    public Map<String, Object> getBefore() { return before; }
+    public Map<String, Object> getAfter() { return after; }
+    public boolean isComplete() { return complete; }
+}
@@ -0,0 +1,28 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+
+/**
+ * Number of actions of one (type, status, actor role) over the requested days.
+ */
+public class ActionAuditStatsGroup {
+
+    private ActionType actionType;
+    private ActionStatus actionStatus;
+    private Roles actorRole;
+    private long count;
+
+    public ActionAuditStatsGroup(ActionType actionType, ActionStatus actionStatus, Roles actorRole, long count) {
+        this.actionType = actionType;
+        this.actionStatus = actionStatus;
+        this.actorRole = actorRole;
+        this.count = count;
+    }
+
+    public ActionType getActionType() { return actionType; }
+    public ActionStatus getActionStatus() { return actionStatus; }
+    public Roles getActorRole() { return actorRole; }
+    public long getCount() { return count; }
+}
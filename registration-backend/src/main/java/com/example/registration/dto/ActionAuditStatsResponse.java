@@ -0,0 +1,41 @@
+package com.example.registration.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Action audit counts for the UTC days from..to, both included. days only
+ * lists days with at least one action, oldest first.
+ */
+public class ActionAuditStatsResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private long total;
+    private long failed;
+    private List<ActionAuditStatsGroup> groups;
+    private List<ActionAuditDayCount> days;
+
+    public ActionAuditStatsResponse(
+            LocalDate from,
+            LocalDate to,
+            long total,
+            long failed,
+            List<ActionAuditStatsGroup> groups,
+            List<ActionAuditDayCount> days
+    ) {
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.failed = failed;
+        this.groups = groups;
+        this.days = days;
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public long getTotal() { return total; }
+    public long getFailed() { return failed; }
+    public List<ActionAuditStatsGroup> getGroups() { return groups; }
+    public List<ActionAuditDayCount> getDays() { return days; }
+}
@@ -0,0 +1,56 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+
+import java.time.Instant;
+
+/**
+ * One action_audit row in search results. The before/after states are
+ * left out; they are read per row from /super-admin/action-audit/{id}.
+ */
+public class ActionAuditSummaryResponse {
+
+    private Long id;
+    private String actorEmail;
+    private Roles actorRole;
+    private Long targetUserId;
+    private String targetUserEmail;
+    private ActionType actionType;
+    private ActionStatus actionStatus;
+    private String actionReason;
+    private Instant performedAt;
+
+    public ActionAuditSummaryResponse(
+            Long id,
+            String actorEmail,
+            Roles actorRole,
+            Long targetUserId,
+            String targetUserEmail,
+            ActionType actionType,
+            ActionStatus actionStatus,
+            String actionReason,
+            Instant performedAt
+    ) {
+        this.id = id;
+        this.actorEmail = actorEmail;
+        this.actorRole = actorRole;
+        this.targetUserId = targetUserId;
+        this.targetUserEmail = targetUserEmail;
+        this.actionType = actionType;
+        this.actionStatus = actionStatus;
+        this.actionReason = actionReason;
+        this.performedAt = performedAt;
+    }
+
+    public Long getId() { return id; }
+    public String getActorEmail() { return actorEmail; }
+    public Roles getActorRole() { return actorRole; }
+    public Long getTargetUserId() { return targetUserId; }
+    public String getTargetUserEmail() { return targetUserEmail; }
+    public ActionType getActionType() { return actionType; }
+    public ActionStatus getActionStatus() { return actionStatus; }
+    public String getActionReason() { return actionReason; }
+    public Instant getPerformedAt() { return performedAt; }
+}
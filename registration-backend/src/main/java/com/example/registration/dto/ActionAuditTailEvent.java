@@ -0,0 +1,53 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+
+import java.time.Instant;
+
+/**
+ * One action audit as pushed by /super-admin/action-audit/tail. It is sent
+ * when the action is recorded, before the row reaches action_audit, so it
+ * has no row id and no before/after state.
+ */
+public class ActionAuditTailEvent {
+
+    private String actorEmail;
+    private Roles actorRole;
+    private Long targetUserId;
+    private String targetUserEmail;
+    private ActionType actionType;
+    private ActionStatus actionStatus;
+    private String actionReason;
+    private Instant performedAt;
+
+    public ActionAuditTailEvent(
+            String actorEmail,
+            Roles actorRole,
+            Long targetUserId,
+            String targetUserEmail,
+            ActionType actionType,
+            ActionStatus actionStatus,
+            String actionReason,
+            Instant performedAt
+    ) {
+        this.actorEmail = actorEmail;
+        this.actorRole = actorRole;
+        this.targetUserId = targetUserId;
+        this.targetUserEmail = targetUserEmail;
+        this.actionType = actionType;
+        this.actionStatus = actionStatus;
+        this.actionReason = actionReason;
+        this.performedAt = performedAt;
+    }
+
+    public String getActorEmail() { return actorEmail; }
+    public Roles getActorRole() { return actorRole; }
+    public Long getTargetUserId() { return targetUserId; }
+    public String getTargetUserEmail() { return targetUserEmail; }
+    public ActionType getActionType() { return actionType; }
+    public ActionStatus getActionStatus() { return actionStatus; }
+    public String getActionReason() { return actionReason; }
+    public Instant getPerformedAt() { return performedAt; }
+}
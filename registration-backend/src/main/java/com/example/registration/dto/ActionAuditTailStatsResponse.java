@@ -0,0 +1,46 @@
+package com.example.registration.dto;
+
+public class ActionAuditTailStatsResponse {
+
+    private int subscribers;
+    private int bufferSize;
+    private long published;
+    private long buffered;
+    private long sent;
+    private long resumed;
+    private long resets;
+    private long dropped;
+    private long rejected;
+
+    public ActionAuditTailStatsResponse(
+            int subscribers,
+            int bufferSize,
+            long published,
+            long buffered,
+            long sent,
+            long resumed,
+            long resets,
+            long dropped,
+            long rejected
+    ) {
+        this.subscribers = subscribers;
+        this.bufferSize = bufferSize;
+        this.published = published;
+        this.buffered = buffered;
+        this.sent = sent;
+        this.resumed = resumed;
+        this.resets = resets;
+        this.dropped = dropped;
+        this.rejected = rejected;
+    }
+
+    public int getSubscribers() { return subscribers; }
+    public int getBufferSize() { return bufferSize; }
+    public long getPublished() { return published; }
+    public long getBuffered() { return buffered; }
+    public long getSent() { return sent; }
+    public long getResumed() { return resumed; }
+    public long getResets() { return resets; }
+    public long getDropped() { return dropped; }
+    public long getRejected() { return rejected; }
+}
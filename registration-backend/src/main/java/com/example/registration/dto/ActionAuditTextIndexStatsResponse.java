@@ -0,0 +1,50 @@
+package com.example.registration.dto;
+
+public class ActionAuditTextIndexStatsResponse {
+
+    private boolean ready;
+    private boolean loadedFromSnapshot;
+    private long loadMillis;
+    private int terms;
+    private long postings;
+    private long postingBytes;
+    private long indexedRows;
+    private long maxIndexedId;
+    private int pendingGaps;
+    private long searches;
+
+    public ActionAuditTextIndexStatsResponse(
+            boolean ready,
+            boolean loadedFromSnapshot,
+            long loadMillis,
+            int terms,
+            long postings,
+            long postingBytes,
+            long indexedRows,
+            long maxIndexedId,
+            int pendingGaps,
+            long searches
+    ) {
+        this.ready = ready;
+        this.loadedFromSnapshot = loadedFromSnapshot;
+        this.loadMillis = loadMillis;
+        this.terms = terms;
+        this.postings = postings;
+        this.postingBytes = postingBytes;
+        this.indexedRows = indexedRows;
+        this.maxIndexedId = maxIndexedId;
+        this.pendingGaps = pendingGaps;
+        this.searches = searches;
+    }
+
+    public boolean isReady() { return ready; }
+    public boolean isLoadedFromSnapshot() { return loadedFromSnapshot; }
+    public long getLoadMillis() { return loadMillis; }
+    public int getTerms() { return terms; }
+    public long getPostings() { return postings; }
+    public long getPostingBytes() { return postingBytes; }
+    public long getIndexedRows() { return indexedRows; }
+    public long getMaxIndexedId() { return maxIndexedId; }
+    public int getPendingGaps() { return pendingGaps; }
+    public long getSearches() { return searches; }
+}
@@ -0,0 +1,33 @@
+package com.example.registration.dto;
+
+import java.util.List;
+
+/**
+ * Free-text action audit search results, most recently recorded first.
+ * matched counts the rows holding every search word before the time window
+ * is applied; truncated is true when more rows than items may match.
+ */
+public class ActionAuditTextSearchResponse {
+
+    private List<String> terms;
+    private int matched;
+    private List<ActionAuditSummaryResponse> items;
+    private boolean truncated;
+
+    public ActionAuditTextSearchResponse(
+            List<String> terms,
+            int matched,
+            List<ActionAuditSummaryResponse> items,
+            boolean truncated
+    ) {
+        this.terms = terms;
+        this.matched = matched;
+        this.items = items;
+        this.truncated = truncated;
+    }
+
+    public List<String> getTerms() { return terms; }
+    public int getMatched() { return matched; }
+    public List<ActionAuditSummaryResponse> getItems() { return items; }
+    public boolean isTruncated() { return truncated; }
+}
@@ -0,0 +1,54 @@
+package com.example.registration.dto;
+
+public class AuditWriterStatsResponse {
+
+    private String overflowPolicy;
+    private int queueDepth;
+    private int queueCapacity;
+    private long enqueued;
+    private long written;
+    private long dropped;
+    private long spilled;
+    private long batches;
+    private double avgBatchSize;
+    private double avgFlushMillis;
+    private double maxFlushMillis;
+
+    public AuditWriterStatsResponse(
+            String overflowPolicy,
+            int queueDepth,
+            int queueCapacity,
+            long enqueued,
+            long written,
+            long dropped,
+            long spilled,
+            long batches,
+            double avgBatchSize,
+            double avgFlushMillis,
+            double maxFlushMillis
+    ) {
+        this.overflowPolicy = overflowPolicy;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.enqueued = enqueued;
+        this.written = written;
+        this.dropped = dropped;
+        this.spilled = spilled;
+        this.batches = batches;
+        this.avgBatchSize = avgBatchSize;
+        this.avgFlushMillis = avgFlushMillis;
+        this.maxFlushMillis = maxFlushMillis;
+    }
+
+    public String getOverflowPolicy() { return overflowPolicy; }
+    public int getQueueDepth() { return queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public long getEnqueued() { return enqueued; }
+    public long getWritten() { return written; }
+    public long getDropped() { return dropped; }
+    public long getSpilled() { return spilled; }
+    public long getBatches() { return batches; }
+    public double getAvgBatchSize() { return avgBatchSize; }
+    public double getAvgFlushMillis() { return avgFlushMillis; }
+    public double getMaxFlushMillis() { return maxFlushMillis; }
+}
@@ -0,0 +1,37 @@
+package com.example.registration.dto;
+
+public class CacheStatsResponse {
+
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CacheStatsResponse(long size, long hits, long misses, long evictions) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
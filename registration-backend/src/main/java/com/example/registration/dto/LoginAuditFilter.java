@@ -0,0 +1,43 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.LoginReason;
+import com.example.registration.enums.LoginType;
+
+import java.time.Instant;
+
+/**
+ * Optional filters for the login audit listing. Null means "any";
+ * the time window is [from, to).
+ */
+public class LoginAuditFilter {
+
+    private final String email;
+    private final LoginType loginType;
+    private final LoginReason reason;
+    private final Instant from;
+    private final Instant to;
+
+    public LoginAuditFilter(
+            String email,
+            LoginType loginType,
+            LoginReason reason,
+            Instant from,
+            Instant to
+    ) {
+        this.email = email;
+        this.loginType = loginType;
+        this.reason = reason;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static LoginAuditFilter forEmail(String email) {
+        return new LoginAuditFilter(email, null, null, null, null);
+    }
+
+    public String getEmail() { return email; }
+    public LoginType getLoginType() { return loginType; }
+    public LoginReason getReason() { return reason; }
+    public Instant getFrom() { return from; }
+    public Instant getTo() { return to; }
+}
@@ -0,0 +1,21 @@
+package com.example.registration.dto;
+
+import java.util.List;
+
+/**
+ * A page of login audit rows, newest first. Pass nextCursor back as
+ * ?cursor= to read the following page; it is null on the last page.
+ */
+public class LoginAuditPageResponse {
+
+    private List<LoginAuditResponse> items;
+    private String nextCursor;
+
+    public LoginAuditPageResponse(List<LoginAuditResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<LoginAuditResponse> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
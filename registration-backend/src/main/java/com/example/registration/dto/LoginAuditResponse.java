@@ -0,0 +1,52 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.LoginReason;
+import com.example.registration.enums.LoginType;
+
+import java.time.Instant;
+
+/**
+ * One login_audit row as shown to support and to the account owner.
+ * Selected as a constructor projection, so the token hash and the
+ * user_auth association are never loaded.
+ */
+public class LoginAuditResponse {
+
+    private Long id;
+    private String email;
+    private String role;
+    private Instant eventTime;
+    private LoginType loginType;
+    private LoginReason reason;
+    private Instant jwtIssuedAt;
+    private Instant jwtExpiresAt;
+
+    public LoginAuditResponse(
+            Long id,
+            String email,
+            String role,
+            Instant eventTime,
+            LoginType loginType,
+            LoginReason reason,
+            Instant jwtIssuedAt,
+            Instant jwtExpiresAt
+    ) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.eventTime = eventTime;
+        this.loginType = loginType;
+        this.reason = reason;
+        this.jwtIssuedAt = jwtIssuedAt;
+        this.jwtExpiresAt = jwtExpiresAt;
+    }
+
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+    public Instant getEventTime() { return eventTime; }
+    public LoginType getLoginType() { return loginType; }
+    public LoginReason getReason() { return reason; }
+    public Instant getJwtIssuedAt() { return jwtIssuedAt; }
+    public Instant getJwtExpiresAt() { return jwtExpiresAt; }
+}
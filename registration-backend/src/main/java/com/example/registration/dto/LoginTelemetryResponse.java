@@ -0,0 +1,33 @@
+package com.example.registration.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Login telemetry for the last windowMinutes minutes starting at
+ * windowStart. perMinuteTotal sums every series that matched the filters.
+ */
+public class LoginTelemetryResponse {
+
+    private int windowMinutes;
+    private Instant windowStart;
+    private long[] perMinuteTotal;
+    private List<LoginTelemetrySeries> series;
+
+    public LoginTelemetryResponse(
+            int windowMinutes,
+            Instant windowStart,
+            long[] perMinuteTotal,
+            List<LoginTelemetrySeries> series
+    ) {
+        this.windowMinutes = windowMinutes;
+        this.windowStart = windowStart;
+        this.perMinuteTotal = perMinuteTotal;
+        this.series = series;
+    }
+
+    public int getWindowMinutes() { return windowMinutes; }
+    public Instant getWindowStart() { return windowStart; }
+    public long[] getPerMinuteTotal() { return perMinuteTotal; }
+    public List<LoginTelemetrySeries> getSeries() { return series; }
+}
@@ -0,0 +1,58 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.LoginReason;
+import com.example.registration.enums.LoginType;
+
+/**
+ * Counts for one (login type, reason, role) over the requested window.
+ * perMinute is oldest first; latency fields are null when no timed events
+ * were recorded.
+ */
+public class LoginTelemetrySeries {
+
+    private LoginType loginType;
+    private LoginReason reason;
+    private String role;
+    private long total;
+    private long[] perMinute;
+    private long timedCount;
+    private Double p50Millis;
+    private Double p95Millis;
+    private Double p99Millis;
+    private Double maxMillis;
+
+    public LoginTelemetrySeries(
+            LoginType loginType,
+            LoginReason reason,
+            String role,
+            long total,
+            long[] perMinute,
+            long timedCount,
+            Double p50Millis,
+            Double p95Millis,
+            Double p99Millis,
+            Double maxMillis
+    ) {
+        this.loginType = loginType;
+        this.reason = reason;
+        this.role = role;
+        this.total = total;
+        this.perMinute = perMinute;
+        this.timedCount = timedCount;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public LoginType getLoginType() { return loginType; }
+    public LoginReason getReason() { return reason; }
+    public String getRole() { return role; }
+    public long getTotal() { return total; }
+    public long[] getPerMinute() { return perMinute; }
+    public long getTimedCount() { return timedCount; }
+    public Double getP50Millis() { return p50Millis; }
+    public Double getP95Millis() { return p95Millis; }
+    public Double getP99Millis() { return p99Millis; }
+    public Double getMaxMillis() { return maxMillis; }
+}
@@ -0,0 +1,50 @@
+package com.example.registration.dto;
+
+public class PasswordHashingStatsResponse {
+
+    private int bcryptCost;
+    private int poolSize;
+    private int activeThreads;
+    private int queued;
+    private long completed;
+    private long rejected;
+    private double avgQueueMillis;
+    private double maxQueueMillis;
+    private double avgRunMillis;
+    private double maxRunMillis;
+
+    public PasswordHashingStatsResponse(
+            int bcryptCost,
+            int poolSize,
+            int activeThreads,
+            int queued,
+            long completed,
+            long rejected,
+            double avgQueueMillis,
+            double maxQueueMillis,
+            double avgRunMillis,
+            double maxRunMillis
+    ) {
+        this.bcryptCost = bcryptCost;
+        this.poolSize = poolSize;
+        this.activeThreads = activeThreads;
+        this.queued = queued;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.avgQueueMillis = avgQueueMillis;
+        this.maxQueueMillis = maxQueueMillis;
+        this.avgRunMillis = avgRunMillis;
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    public int getBcryptCost() { return bcryptCost; }
+    public int getPoolSize() { return poolSize; }
+    public int getActiveThreads() { return activeThreads; }
+    public int getQueued() { return queued; }
+    public long getCompleted() { return completed; }
+    public long getRejected() { return rejected; }
+    public double getAvgQueueMillis() { return avgQueueMillis; }
+    public double getMaxQueueMillis() { return maxQueueMillis; }
+    public double getAvgRunMillis() { return avgRunMillis; }
+    public double getMaxRunMillis() { return maxRunMillis; }
+}
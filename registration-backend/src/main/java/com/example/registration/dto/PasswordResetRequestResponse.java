@@ -0,0 +1,54 @@
+package com.example.registration.dto;
+
+import com.example.registration.enums.PasswordResetStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A password reset request as listed to SUPPORT and ADMIN. Only the
+ * account id is exposed, never the account row or the temporary password.
+ */
+public class PasswordResetRequestResponse {
+
+    private Long id;
+    private Long userAuthId;
+    private String userEmail;
+    private PasswordResetStatus status;
+    private String approvedBy;
+    private LocalDateTime requestedAt;
+    private LocalDateTime approvedAt;
+    private LocalDateTime passwordSentAt;
+    private String remarks;
+
+    public PasswordResetRequestResponse(
+            Long id,
+            Long userAuthId,
+            String userEmail,
+            PasswordResetStatus status,
+            String approvedBy,
+            LocalDateTime requestedAt,
+            LocalDateTime approvedAt,
+            LocalDateTime passwordSentAt,
+            String remarks
+    ) {
+        this.id = id;
+        this.userAuthId = userAuthId;
+        this.userEmail = userEmail;
+        this.status = status;
+        this.approvedBy = approvedBy;
+        this.requestedAt = requestedAt;
+        this.approvedAt = approvedAt;
+        this.passwordSentAt = passwordSentAt;
+        this.remarks = remarks;
+    }
+
+    public Long getId() { return id; }
+    public Long getUserAuthId() { return userAuthId; }
+    public String getUserEmail() { return userEmail; }
+    public PasswordResetStatus getStatus() { return status; }
+    public String getApprovedBy() { return approvedBy; }
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+    public LocalDateTime getApprovedAt() { return approvedAt; }
+    public LocalDateTime getPasswordSentAt() { return passwordSentAt; }
+    public String getRemarks() { return remarks; }
+}
@@ -0,0 +1,13 @@
+package com.example.registration.dto;
+
+import java.time.Instant;
+
+/**
+ * Projection of a login_audit row used to rebuild the revoked token list.
+ */
+public interface TokenHashView {
+
+    String getJwtTokenHash();
+
+    Instant getJwtExpiresAt();
+}
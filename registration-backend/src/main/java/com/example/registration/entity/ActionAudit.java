@@ -7,7 +7,13 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "action_audit")
+@Table(
+        name = "action_audit",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_action_audit_journal",
+                columnNames = {"journal_node", "journal_seq"}
+        )
+)
 public class ActionAudit {
 
     @Id
@@ -49,6 +55,12 @@ public class ActionAudit {
     @Column(nullable = false)
     private Instant performedAt;
 
+    // WHERE FROM: the journal that shipped the row, null for direct inserts
+    @Column(length = 36)
+    private String journalNode;
+
+    private Long journalSeq;
+
     /* getters & setters */
 
     public Long getId() {
@@ -138,4 +150,20 @@ public class ActionAudit {
     public void setPerformedAt(Instant performedAt) {
         this.performedAt = performedAt;
     }
+
+    public String getJournalNode() {
+        return journalNode;
+    }
+
+    public void setJournalNode(String journalNode) {
+        this.journalNode = journalNode;
+    }
+
+    public Long getJournalSeq() {
+        return journalSeq;
+    }
+
+    public void setJournalSeq(Long journalSeq) {
+        this.journalSeq = journalSeq;
+    }
 }
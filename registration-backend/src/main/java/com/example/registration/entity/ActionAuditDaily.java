@@ -0,0 +1,98 @@
+package com.example.registration.entity;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Number of action_audit rows per UTC day, action type, status and actor
+ * role. Kept current by ActionAuditRollupService as rows are inserted and
+ * recounted from action_audit by ActionAuditRollupJob.
+ */
+@Entity
+@Table(name = "action_audit_daily")
+@IdClass(ActionAuditDaily.Key.class)
+public class ActionAuditDaily {
+
+    @Id
+    private LocalDate actionDay;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private ActionType actionType;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private ActionStatus actionStatus;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Roles actorRole;
+
+    @Column(nullable = false)
+    private long actionCount;
+
+    /* getters & setters */
+
+    public LocalDate getActionDay() { return actionDay; }
+    public void setActionDay(LocalDate actionDay) { this.actionDay = actionDay; }
+
+    public ActionType getActionType() { return actionType; }
+    public void setActionType(ActionType actionType) { this.actionType = actionType; }
+
+    public ActionStatus getActionStatus() { return actionStatus; }
+    public void setActionStatus(ActionStatus actionStatus) { this.actionStatus = actionStatus; }
+
+    public Roles getActorRole() { return actorRole; }
+    public void setActorRole(Roles actorRole) { this.actorRole = actorRole; }
+
+    public long getActionCount() { return actionCount; }
+    public void setActionCount(long actionCount) { this.actionCount = actionCount; }
+
+    public static class Key implements Serializable {
+
+        private LocalDate actionDay;
+        private ActionType actionType;
+        private ActionStatus actionStatus;
+        private Roles actorRole;
+
+        protected Key() {
+        }
+
+        public Key(LocalDate actionDay, ActionType actionType, ActionStatus actionStatus, Roles actorRole) {
+            this.actionDay = actionDay;
+            this.actionType = actionType;
+            this.actionStatus = actionStatus;
+            this.actorRole = actorRole;
+        }
+
+        public LocalDate getActionDay() { return actionDay; }
+        public ActionType getActionType() { return actionType; }
+        public ActionStatus getActionStatus() { return actionStatus; }
+        public Roles getActorRole() { return actorRole; }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(actionDay, key.actionDay)
+                    && actionType == key.actionType
+                    && actionStatus == key.actionStatus
+                    && actorRole == key.actorRole;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(actionDay, actionType, actionStatus, actorRole);
+        }
+    }
+}
@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "login_audit")
+@Table(
+        name = "login_audit",
+        indexes = @Index(name = "idx_login_audit_jwt_token_hash", columnList = "jwt_token_hash")
+)
 public class LoginAudit {
 
     @Id
@@ -26,6 +29,8 @@ public class LoginAudit {
     @Enumerated(EnumType.STRING)
     private LoginType loginType;
 
+    @Convert(converter = TokenHashConverter.class)
+    @Column(name = "jwt_token_hash", columnDefinition = "BINARY(32)")
     private String jwtTokenHash;
 
     private Instant jwtIssuedAt;
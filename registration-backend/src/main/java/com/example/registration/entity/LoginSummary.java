@@ -0,0 +1,43 @@
+package com.example.registration.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One row per account, kept up to date from login_audit so the login alert
+ * needs a single primary-key read instead of scanning the history.
+ */
+@Entity
+@Table(name = "login_summary")
+public class LoginSummary {
+
+    @Id
+    @Column(name = "user_auth_id")
+    private Long userAuthId;
+
+    private Instant firstLoginAt;
+
+    private Instant lastLoginAt;
+
+    private Instant lastLogoutAt;
+
+    @Column(nullable = false)
+    private long loginCount;
+
+    /* getters & setters */
+
+    public Long getUserAuthId() { return userAuthId; }
+    public void setUserAuthId(Long userAuthId) { this.userAuthId = userAuthId; }
+
+    public Instant getFirstLoginAt() { return firstLoginAt; }
+    public void setFirstLoginAt(Instant firstLoginAt) { this.firstLoginAt = firstLoginAt; }
+
+    public Instant getLastLoginAt() { return lastLoginAt; }
+    public void setLastLoginAt(Instant lastLoginAt) { this.lastLoginAt = lastLoginAt; }
+
+    public Instant getLastLogoutAt() { return lastLogoutAt; }
+    public void setLastLogoutAt(Instant lastLogoutAt) { this.lastLogoutAt = lastLogoutAt; }
+
+    public long getLoginCount() { return loginCount; }
+    public void setLoginCount(long loginCount) { this.loginCount = loginCount; }
+}
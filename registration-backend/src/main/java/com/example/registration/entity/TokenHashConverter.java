@@ -0,0 +1,23 @@
+package com.example.registration.entity;
+
+import com.example.registration.security.JwtHashUtil;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Keeps token hashes as hex in Java and as raw BINARY(32) in the database,
+ * half the size of the VARCHAR they replaced and cheaper to index.
+ */
+@Converter
+public class TokenHashConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String hex) {
+        return hex == null ? null : JwtHashUtil.fromHex(hex);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : JwtHashUtil.toHex(bytes);
+    }
+}
@@ -28,6 +28,31 @@ public class UserAuth {
     @Column(nullable = false)
     private boolean active = true;
 
+    // Bumped whenever role, status or password changes so that tokens
+    // issued before the change stop being accepted
+    @Column(nullable = false)
+    private int authVersion = 0;
+
+    public UserAuth() {
+    }
+
+    private UserAuth(UserAuth source) {
+        this.id = source.id;
+        this.email = source.email;
+        this.password = source.password;
+        this.role = source.role;
+        this.profileCreated = source.profileCreated;
+        this.active = source.active;
+        this.authVersion = source.authVersion;
+    }
+
+    /**
+     * Detached copy, used by UserAuthCache so callers never share an instance.
+     */
+    public UserAuth copy() {
+        return new UserAuth(this);
+    }
+
     // getters & setters
 
     public Long getId() {
@@ -73,5 +98,16 @@ public class UserAuth {
     public void setActive(boolean active) {
         this.active = active;
     }
-}
 
+    public int getAuthVersion() {
+        return authVersion;
+    }
+
+    public void setAuthVersion(int authVersion) {
+        this.authVersion = authVersion;
+    }
+
+    public void bumpAuthVersion() {
+        this.authVersion++;
+    }
+}
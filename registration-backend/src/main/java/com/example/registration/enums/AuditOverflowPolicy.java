@@ -0,0 +1,13 @@
+package com.example.registration.enums;
+
+/**
+ * What the login audit writer does when its queue is full.
+ */
+public enum AuditOverflowPolicy {
+    // Wait for room, up to the configured timeout, then drop
+    BLOCK,
+    // Make room by discarding FAILED events before blocking for others
+    DROP_FAILURES_FIRST,
+    // Append overflow to a local file that is replayed once the queue drains
+    SPILL
+}
@@ -0,0 +1,22 @@
+package com.example.registration.enums;
+
+/**
+ * File formats for the streaming audit exports.
+ */
+public enum ExportFormat {
+    // One JSON object per line
+    NDJSON("application/x-ndjson", "ndjson"),
+    // RFC 4180, header row first
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() { return contentType; }
+    public String getExtension() { return extension; }
+}
@@ -1,22 +1,65 @@
 package com.example.registration.repository;
 
+import com.example.registration.dto.ActionAuditResponse;
+import com.example.registration.dto.ActionAuditSummaryResponse;
 import com.example.registration.entity.ActionAudit;
-import com.example.registration.enums.ActionStatus;
 import com.example.registration.enums.ActionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ActionAuditRepository extends JpaRepository<ActionAudit, Long> {
-    List<ActionAudit> findByActionType(ActionType actionType);
+public interface ActionAuditRepository
+        extends JpaRepository<ActionAudit, Long>, ActionAuditRepositoryCustom {
 
-    List<ActionAudit> findByActionStatus(ActionStatus status);
+    // Single rows and state history select explicit columns into ActionAuditResponse;
+    // the search listing lives in ActionAuditRepositoryImpl
 
-    List<ActionAudit> findByPerformedAtBetween(Instant start, Instant end);
+    String SELECT_RESPONSE = """
+            select new com.example.registration.dto.ActionAuditResponse(
+                a.id, a.actorEmail, a.actorRole, a.targetUserId, a.targetUserEmail,
+                a.actionType, a.actionStatus, a.actionReason,
+                a.beforeState, a.afterState, a.performedAt)
+            from ActionAudit a
+            """;
 
-    List<ActionAudit> findByActionTypeAndActionStatus(
-            ActionType actionType,
-            ActionStatus status
+    @Query(SELECT_RESPONSE + "where a.id = :id")
+    Optional<ActionAuditResponse> findResponseById(@Param("id") Long id);
+
+    // Successful changes to the same target made after the given row, newest first
+    @Query(SELECT_RESPONSE + """
+            where a.targetUserEmail = :email
+              and a.actionType in :types
+              and a.actionStatus = com.example.registration.enums.ActionStatus.SUCCESS
+              and (a.performedAt > :performedAt
+                   or (a.performedAt = :performedAt and a.id > :id))
+            order by a.performedAt desc, a.id desc
+            """)
+    List<ActionAuditResponse> findLaterChanges(
+            @Param("email") String email,
+            @Param("types") Collection<ActionType> types,
+            @Param("performedAt") Instant performedAt,
+            @Param("id") Long id
+    );
+
+    // Rows found by ActionAuditTextIndex, without their states, newest id first
+    @Query("""
+            select new com.example.registration.dto.ActionAuditSummaryResponse(
+                a.id, a.actorEmail, a.actorRole, a.targetUserId, a.targetUserEmail,
+                a.actionType, a.actionStatus, a.actionReason, a.performedAt)
+            from ActionAudit a
+            where a.id in :ids
+              and (:from is null or a.performedAt >= :from)
+              and (:to is null or a.performedAt < :to)
+            order by a.id desc
+            """)
+    List<ActionAuditSummaryResponse> findSummariesByIdIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") Instant from,
+            @Param("to") Instant to
     );
 }
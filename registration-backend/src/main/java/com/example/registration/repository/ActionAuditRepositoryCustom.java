@@ -0,0 +1,22 @@
+package com.example.registration.repository;
+
+import com.example.registration.dto.ActionAuditFilter;
+import com.example.registration.dto.ActionAuditSummaryResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ActionAuditRepositoryCustom {
+
+    /**
+     * Reads up to limit rows matching the filter, ordered by (performedAt, id)
+     * descending and strictly after the given position. A null position
+     * starts from the newest row.
+     */
+    List<ActionAuditSummaryResponse> findPage(
+            ActionAuditFilter filter,
+            Instant afterPerformedAt,
+            Long afterId,
+            int limit
+    );
+}
@@ -0,0 +1,94 @@
+package com.example.registration.repository;
+
+import com.example.registration.dto.ActionAuditFilter;
+import com.example.registration.dto.ActionAuditSummaryResponse;
+import com.example.registration.entity.ActionAudit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+class ActionAuditRepositoryImpl implements ActionAuditRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ActionAuditSummaryResponse> findPage(
+            ActionAuditFilter filter,
+            Instant afterPerformedAt,
+            Long afterId,
+            int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ActionAuditSummaryResponse> query = cb.createQuery(ActionAuditSummaryResponse.class);
+        Root<ActionAudit> audit = query.from(ActionAudit.class);
+
+        Path<Instant> performedAt = audit.get("performedAt");
+        Path<Long> id = audit.get("id");
+
+        // Only the filters that are set end up in the SQL; each of them
+        // has an index ending in performed_at (V3, V7, V8)
+        List<Predicate> where = new ArrayList<>();
+
+        if (filter.getActionType() != null) {
+            where.add(cb.equal(audit.get("actionType"), filter.getActionType()));
+        }
+        if (filter.getActionStatus() != null) {
+            where.add(cb.equal(audit.get("actionStatus"), filter.getActionStatus()));
+        }
+        if (filter.getActorEmail() != null) {
+            where.add(cb.equal(audit.get("actorEmail"), filter.getActorEmail()));
+        }
+        if (filter.getActorRole() != null) {
+            where.add(cb.equal(audit.get("actorRole"), filter.getActorRole()));
+        }
+        if (filter.getTargetUserId() != null) {
+            where.add(cb.equal(audit.get("targetUserId"), filter.getTargetUserId()));
+        }
+        if (filter.getTargetUserEmail() != null) {
+            where.add(cb.equal(audit.get("targetUserEmail"), filter.getTargetUserEmail()));
+        }
+        if (filter.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(performedAt, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.add(cb.lessThan(performedAt, filter.getTo()));
+        }
+
+        // (performed_at, id) < (:t, :id), same shape as the login audit page
+        if (afterPerformedAt != null) {
+            where.add(cb.lessThanOrEqualTo(performedAt, afterPerformedAt));
+            where.add(cb.or(
+                    cb.lessThan(performedAt, afterPerformedAt),
+                    cb.lessThan(id, afterId)
+            ));
+        }
+
+        // No before/after state: those columns are only read per row
+        query.select(cb.construct(
+                        ActionAuditSummaryResponse.class,
+                        id,
+                        audit.get("actorEmail"),
+                        audit.get("actorRole"),
+                        audit.get("targetUserId"),
+                        audit.get("targetUserEmail"),
+                        audit.get("actionType"),
+                        audit.get("actionStatus"),
+                        audit.get("actionReason"),
+                        performedAt))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(performedAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,23 +1,24 @@
 package com.example.registration.repository;
 
+import com.example.registration.dto.TokenHashView;
 import com.example.registration.entity.LoginAudit;
 import com.example.registration.enums.LoginType;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
 
-public interface LoginAuditRepository extends JpaRepository<LoginAudit, Long> {
+public interface LoginAuditRepository
+        extends JpaRepository<LoginAudit, Long>, LoginAuditRepositoryCustom {
 
-    List<LoginAudit> findByEmailAndLoginTypeOrderByEventTimeAsc(
-            String email,
-            LoginType loginType
+    List<TokenHashView> findByLoginTypeAndJwtExpiresAtAfter(
+            LoginType loginType,
+            Instant now
     );
 
-    Optional<LoginAudit> findTopByEmailAndLoginTypeOrderByEventTimeDesc(
+    List<TokenHashView> findByEmailAndLoginTypeAndJwtExpiresAtAfter(
             String email,
-            LoginType loginType
+            LoginType loginType,
+            Instant now
     );
-
-        List<LoginAudit> findByEmail(String email);
 }
@@ -0,0 +1,22 @@
+package com.example.registration.repository;
+
+import com.example.registration.dto.LoginAuditFilter;
+import com.example.registration.dto.LoginAuditResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface LoginAuditRepositoryCustom {
+
+    /**
+     * Reads up to limit rows matching the filter, ordered by (eventTime, id)
+     * descending and strictly after the given position. A null position
+     * starts from the newest row.
+     */
+    List<LoginAuditResponse> findPage(
+            LoginAuditFilter filter,
+            Instant afterEventTime,
+            Long afterId,
+            int limit
+    );
+}
@@ -0,0 +1,84 @@
+package com.example.registration.repository;
+
+import com.example.registration.dto.LoginAuditFilter;
+import com.example.registration.dto.LoginAuditResponse;
+import com.example.registration.entity.LoginAudit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+class LoginAuditRepositoryImpl implements LoginAuditRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LoginAuditResponse> findPage(
+            LoginAuditFilter filter,
+            Instant afterEventTime,
+            Long afterId,
+            int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoginAuditResponse> query = cb.createQuery(LoginAuditResponse.class);
+        Root<LoginAudit> audit = query.from(LoginAudit.class);
+
+        Path<Instant> eventTime = audit.get("eventTime");
+        Path<Long> id = audit.get("id");
+
+        // Only the filters that are set end up in the SQL, so each
+        // combination can be served by its own index
+        List<Predicate> where = new ArrayList<>();
+
+        if (filter.getEmail() != null) {
+            where.add(cb.equal(audit.get("email"), filter.getEmail()));
+        }
+        if (filter.getLoginType() != null) {
+            where.add(cb.equal(audit.get("loginType"), filter.getLoginType()));
+        }
+        if (filter.getReason() != null) {
+            where.add(cb.equal(audit.get("loginReason"), filter.getReason()));
+        }
+        if (filter.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(eventTime, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.add(cb.lessThan(eventTime, filter.getTo()));
+        }
+
+        // (event_time, id) < (:t, :id), written with a leading bound on
+        // event_time so MySQL turns it into a single index range
+        if (afterEventTime != null) {
+            where.add(cb.lessThanOrEqualTo(eventTime, afterEventTime));
+            where.add(cb.or(
+                    cb.lessThan(eventTime, afterEventTime),
+                    cb.lessThan(id, afterId)
+            ));
+        }
+
+        query.select(cb.construct(
+                        LoginAuditResponse.class,
+                        id,
+                        audit.get("email"),
+                        audit.get("role"),
+                        eventTime,
+                        audit.get("loginType"),
+                        audit.get("loginReason"),
+                        audit.get("jwtIssuedAt"),
+                        audit.get("jwtExpiresAt")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(eventTime), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.registration.repository;
+
+import com.example.registration.entity.LoginSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LoginSummaryRepository extends JpaRepository<LoginSummary, Long> {
+}
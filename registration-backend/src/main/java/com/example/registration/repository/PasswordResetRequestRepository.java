@@ -1,7 +1,9 @@
 package com.example.registration.repository;
 
+import com.example.registration.dto.PasswordResetRequestResponse;
 import com.example.registration.entity.PasswordResetRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -9,4 +11,14 @@ public interface PasswordResetRequestRepository
         extends JpaRepository<PasswordResetRequest, Long> {
 
     List<PasswordResetRequest> findByStatus(String status);
+
+    // r.userAuth.id reads the foreign key column, user_auth is not joined
+    @Query("""
+            select new com.example.registration.dto.PasswordResetRequestResponse(
+                r.id, r.userAuth.id, r.userEmail, r.status, r.approvedBy,
+                r.requestedAt, r.approvedAt, r.passwordSentAt, r.remarks)
+            from PasswordResetRequest r
+            order by r.requestedAt desc, r.id desc
+            """)
+    List<PasswordResetRequestResponse> findAllResponses();
 }
@@ -2,9 +2,29 @@ package com.example.registration.repository;
 
 import com.example.registration.entity.UserAuth;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserAuthRepository extends JpaRepository<UserAuth, Long> {
     Optional<UserAuth> findByEmail(String email);
+
+    /**
+     * Replaces only the password hash, and only while it is still the one
+     * the caller read. Returns the number of rows changed.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update UserAuth a set a.password = :newHash
+            where a.id = :id and a.password = :oldHash
+            """)
+    int updatePasswordIfUnchanged(
+            @Param("id") Long id,
+            @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash
+    );
 }
@@ -0,0 +1,94 @@
+package com.example.registration.security;
+
+import com.example.registration.entity.UserAuth;
+import com.example.registration.logging.BaseLogger;
+import com.example.registration.repository.UserAuthRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory view of users' current auth versions.
+ *
+ * A token is only accepted while the version it was issued with matches
+ * the one held here. Entries are loaded from user_auth on first use and
+ * kept up to date by the services on this node that bump the version.
+ * Changes made on another node are picked up in two ways: a token newer
+ * than the cached version triggers a reload, and every entry expires after
+ * ttl, which bounds how long an outdated token is accepted. Versions only
+ * go up, so a token older than the cached one is rejected without a query.
+ */
+@Component
+public class AuthVersionRegistry extends BaseLogger {
+
+    // Marker for disabled accounts, no token version ever matches it
+    private static final int INACTIVE = -1;
+
+    private final UserAuthRepository authRepo;
+    private final Cache<String, Integer> versions;
+
+    public AuthVersionRegistry(
+            UserAuthRepository authRepo,
+            @Value("${jwt.auth-version.maximum-size:100000}") long maximumSize,
+            @Value("${jwt.auth-version.ttl:30s}") Duration ttl) {
+
+        this.authRepo = authRepo;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isCurrent(String email, int tokenVersion) {
+
+        Integer current = versions.getIfPresent(email);
+
+        if (current == null || tokenVersion > current) {
+            // Missing, or bumped on another node since it was cached
+            current = load(email);
+            if (current == null) {
+                return false;
+            }
+        }
+
+        return current == tokenVersion;
+    }
+
+    /**
+     * Publishes the version of an account that was just saved.
+     */
+    public void update(UserAuth auth) {
+
+        versions.put(auth.getEmail(), versionOf(auth));
+
+        log.debug("Auth version updated authId={} version={}",
+                auth.getId(), auth.getAuthVersion());
+    }
+
+    public void evict(String email) {
+        versions.invalidate(email);
+    }
+
+    private Integer load(String email) {
+
+        // Read user_auth itself: UserAuthCache may hold a copy as old as its own ttl
+        return authRepo.findByEmail(email)
+                .map(auth -> {
+                    int version = versionOf(auth);
+                    versions.put(email, version);
+                    return version;
+                })
+                .orElseGet(() -> {
+                    // Unknown emails are not cached so a later registration is picked up
+                    versions.invalidate(email);
+                    return null;
+                });
+    }
+
+    private static int versionOf(UserAuth auth) {
+        return auth.isActive() ? auth.getAuthVersion() : INACTIVE;
+    }
+}
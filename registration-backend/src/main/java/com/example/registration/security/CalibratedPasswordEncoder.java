@@ -0,0 +1,99 @@
+package com.example.registration.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Delegating encoder whose bcrypt cost is picked for the machine it runs on.
+ *
+ * New hashes are written as {bcrypt}$2a$NN$..., while hashes stored before
+ * the prefix existed still match through the plain bcrypt fallback. A hash
+ * needs upgrading when it lacks the prefix or was made with a lower cost, so
+ * moving to bigger nodes rehashes users as they log in. Hashes are never
+ * downgraded: nodes calibrated to different costs would otherwise rewrite
+ * the same hash back and forth on every login.
+ */
+public final class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    public static final String BCRYPT_ID = "bcrypt";
+
+    private static final String PREFIX = "{" + BCRYPT_ID + "}";
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_SAMPLE = "calibration-sample-password";
+    private static final int CALIBRATION_COST = 8;
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final int cost;
+    private final DelegatingPasswordEncoder delegate;
+
+    public CalibratedPasswordEncoder(int cost) {
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        this.cost = cost;
+        this.delegate = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+    }
+
+    /**
+     * Times a cheap bcrypt round and extrapolates, since every extra cost step
+     * doubles the work. Picks the highest cost whose estimate stays within
+     * the target, clamped to [minCost, maxCost].
+     */
+    public static CalibratedPasswordEncoder calibrate(long targetMillis, int minCost, int maxCost) {
+
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_COST);
+
+        // First round warms up the JIT, keep the fastest of the rest
+        probe.encode(CALIBRATION_SAMPLE);
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_SAMPLE);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        long targetNanos = targetMillis * 1_000_000L;
+        int cost = CALIBRATION_COST;
+        long estimate = bestNanos;
+
+        while (cost < maxCost && estimate * 2 <= targetNanos) {
+            cost++;
+            estimate *= 2;
+        }
+
+        return new CalibratedPasswordEncoder(Math.clamp(cost, minCost, maxCost));
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX)) {
+            return true;
+        }
+
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword.substring(PREFIX.length()));
+
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) < cost;
+    }
+}
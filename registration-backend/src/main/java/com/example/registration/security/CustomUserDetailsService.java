@@ -1,7 +1,7 @@
 package com.example.registration.security;
 
+import com.example.registration.cache.UserAuthCache;
 import com.example.registration.entity.UserAuth;
-import com.example.registration.repository.UserAuthRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.User;
@@ -16,14 +16,18 @@ public class CustomUserDetailsService implements UserDetailsService {
     private static final Logger log =
             LoggerFactory.getLogger(CustomUserDetailsService.class);
 
-    private UserAuthRepository authRepo;
+    private final UserAuthCache authCache;
+
+    public CustomUserDetailsService(UserAuthCache authCache) {
+        this.authCache = authCache;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) {
 
         log.debug("Loading user details for authentication");
 
-        UserAuth auth = authRepo.findByEmail(email)
+        UserAuth auth = authCache.findByEmail(email)
                 .orElseThrow(() -> {
                     log.warn("Authentication failed - user not found");
                     return new UsernameNotFoundException("User not found");
@@ -2,28 +2,66 @@ package com.example.registration.security;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 public class JwtHashUtil {
 
+    public static final int HASH_BYTES = 32;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // MessageDigest is not thread-safe, keep one per thread instead of one per call
+    private static final ThreadLocal<MessageDigest> SHA_256 =
+            ThreadLocal.withInitial(JwtHashUtil::newDigest);
+
     // Prevent instantiation
     private JwtHashUtil() {
         throw new IllegalStateException("Utility class");
     }
 
     public static String hash(String token) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encoded = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest(token));
+    }
 
-            StringBuilder sb = new StringBuilder();
-            for (byte b : encoded) {
-                sb.append(String.format("%02x", b));
+    public static byte[] digest(String token) {
+        return SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String toHex(byte[] encoded) {
+
+        char[] chars = new char[encoded.length * 2];
+        for (int i = 0; i < encoded.length; i++) {
+            int b = encoded[i] & 0xff;
+            chars[2 * i] = HEX_DIGITS[b >>> 4];
+            chars[2 * i + 1] = HEX_DIGITS[b & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    public static byte[] fromHex(String hex) {
+
+        if ((hex.length() & 1) != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid hex character in token hash");
             }
-            return sb.toString();
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
 
-        }catch (Exception e) {
+        } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("Failed to hash JWT", e);
         }
-
     }
 }
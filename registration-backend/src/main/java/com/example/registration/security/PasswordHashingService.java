@@ -0,0 +1,193 @@
+package com.example.registration.security;
+
+import com.example.registration.dto.PasswordHashingStatsResponse;
+import com.example.registration.exception.ServiceUnavailableException;
+import com.example.registration.logging.BaseLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Runs password hashing and matching on a dedicated, CPU-sized pool.
+ *
+ * BCrypt is deliberately slow. Running it on request threads lets a login
+ * burst occupy every worker, so instead the work is queued here with a
+ * hard bound and callers get a 503 as soon as the queue is full.
+ */
+@Service
+public class PasswordHashingService extends BaseLogger {
+
+    private static final String SATURATED = "Server is busy, please retry shortly";
+
+    private final CalibratedPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final LongAccumulator maxQueueNanos = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Long::max, 0);
+
+    public PasswordHashingService(
+            CalibratedPasswordEncoder passwordEncoder,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis) {
+
+        int poolSize = threads > 0
+                ? threads
+                : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger threadIds = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        log.info("Password hashing pool started threads={} queueCapacity={} bcryptCost={}",
+                poolSize, queueCapacity, passwordEncoder.getCost());
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submitMatches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Queues a match without waiting, so independent checks can run in parallel.
+     */
+    public Future<Boolean> submitMatches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Encodes on the pool and hands the result to the callback without making
+     * the caller wait. Best effort: when the pool is saturated the work is
+     * skipped, it will be retried on a later call.
+     */
+    public void encodeInBackground(CharSequence rawPassword, Consumer<String> onEncoded) {
+
+        try {
+            submit(() -> {
+                onEncoded.accept(passwordEncoder.encode(rawPassword));
+                return null;
+            });
+
+        } catch (ServiceUnavailableException ex) {
+            log.debug("Background password encode skipped - pool is saturated");
+        }
+    }
+
+    public <T> T await(Future<T> future) {
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {} ms", timeoutMillis);
+            throw new ServiceUnavailableException(SATURATED);
+
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(SATURATED);
+
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    public PasswordHashingStatsResponse stats() {
+
+        long done = completed.sum();
+
+        return new PasswordHashingStatsResponse(
+                passwordEncoder.getCost(),
+                executor.getPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                done,
+                rejected.sum(),
+                done == 0 ? 0.0 : toMillis(queueNanos.sum()) / done,
+                toMillis(maxQueueNanos.get()),
+                done == 0 ? 0.0 : toMillis(runNanos.sum()) / done,
+                toMillis(maxRunNanos.get())
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> work) {
+
+        long enqueuedAt = System.nanoTime();
+
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(queueNanos, maxQueueNanos, startedAt - enqueuedAt);
+
+                try {
+                    return work.call();
+                } finally {
+                    record(runNanos, maxRunNanos, System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            log.warn("Password hashing rejected - queue is full");
+            throw new ServiceUnavailableException(SATURATED);
+        }
+    }
+
+    private static void record(LongAdder total, LongAccumulator max, long nanos) {
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.registration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token buckets, one per key.
+ *
+ * Each bucket is a single AtomicLong holding the time at which it will be
+ * full again (GCRA). Taking a token is one CAS, there is no refill thread
+ * and no lock. A bucket left alone for one period is full by definition, so
+ * idle buckets are simply evicted and recreated on the next request.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param capacity tokens a client may spend in a burst
+     * @param period   time for an empty bucket to refill completely
+     * @param maxKeys  upper bound on tracked keys
+     */
+    public RateLimiter(int capacity, Duration period, long maxKeys) {
+
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs capacity >= 1 and a positive period");
+        }
+
+        this.burstNanos = period.toNanos();
+        this.intervalNanos = burstNanos / capacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(period)
+                .build();
+    }
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return 0 when allowed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - burstNanos - now;
+
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
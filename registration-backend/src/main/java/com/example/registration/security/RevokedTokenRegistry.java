@@ -0,0 +1,152 @@
+package com.example.registration.security;
+
+import com.example.registration.dto.TokenHashView;
+import com.example.registration.enums.LoginType;
+import com.example.registration.logging.BaseLogger;
+import com.example.registration.repository.LoginAuditRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Denylist of revoked tokens, keyed by the same SHA-256 hex that
+ * login_audit stores in jwt_token_hash.
+ *
+ * A Bloom filter answers the common "not revoked" case without touching
+ * the map or allocating. Entries are dropped once the token would have
+ * expired anyway, and the filter is rebuilt from what is left. The list is
+ * reloaded at startup from LOGOUT rows whose token is still valid.
+ *
+ * Revocation is per node: a logout is only in the denylist of the node that
+ * handled it, and other nodes pick it up from login_audit when they next
+ * restart. LoginAuditWriter inserts LOGOUT rows right away and spills them
+ * rather than dropping them; a spilled one counts once it is replayed.
+ * Deactivation does not depend on this list, it bumps the auth version.
+ */
+@Component
+public class RevokedTokenRegistry extends BaseLogger implements SmartInitializingSingleton {
+
+    private final LoginAuditRepository loginAuditRepository;
+    private final int bloomBits;
+    private final int bloomHashFunctions;
+
+    private final ConcurrentMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final Object filterLock = new Object();
+    private volatile TokenBloomFilter filter;
+
+    public RevokedTokenRegistry(
+            LoginAuditRepository loginAuditRepository,
+            @Value("${security.revocation.bloom-bits:4194304}") int bloomBits,
+            @Value("${security.revocation.bloom-hash-functions:5}") int bloomHashFunctions) {
+
+        this.loginAuditRepository = loginAuditRepository;
+        this.bloomBits = bloomBits;
+        this.bloomHashFunctions = bloomHashFunctions;
+        this.filter = new TokenBloomFilter(bloomBits, bloomHashFunctions);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        List<TokenHashView> loggedOut =
+                loginAuditRepository.findByLoginTypeAndJwtExpiresAtAfter(
+                        LoginType.LOGOUT,
+                        Instant.now()
+                );
+
+        loggedOut.forEach(this::revoke);
+
+        log.info("Revoked token list rebuilt from login audit entries={}", revoked.size());
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+
+        byte[] hash = token.getTokenHash();
+
+        if (!filter.mightContain(hash)) {
+            return false;
+        }
+
+        return revoked.containsKey(JwtHashUtil.toHex(hash));
+    }
+
+    public void revoke(VerifiedToken token) {
+
+        add(JwtHashUtil.toHex(token.getTokenHash()), token.getTokenHash(), token.getExpiresAt());
+
+        log.debug("Token revoked until={}", token.getExpiresAt());
+    }
+
+    /**
+     * Revokes every token issued to the account that has not expired yet.
+     *
+     * Only tokens whose LOGIN row has already been written are found here,
+     * login_audit is filled asynchronously by LoginAuditWriter. Callers bump
+     * the account's auth version as well, which JwtFilter enforces and which
+     * covers tokens still waiting in the writer queue.
+     */
+    public void revokeAll(String email) {
+
+        List<TokenHashView> active =
+                loginAuditRepository.findByEmailAndLoginTypeAndJwtExpiresAtAfter(
+                        email,
+                        LoginType.LOGIN,
+                        Instant.now()
+                );
+
+        active.forEach(this::revoke);
+
+        log.info("Revoked all active tokens email={} count={}", email, active.size());
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+
+        Instant now = Instant.now();
+
+        synchronized (filterLock) {
+
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+
+            if (revoked.size() == before) {
+                return;
+            }
+
+            // Bloom filters cannot forget, start over from the live entries
+            TokenBloomFilter rebuilt = new TokenBloomFilter(bloomBits, bloomHashFunctions);
+            revoked.keySet().forEach(hex -> rebuilt.add(JwtHashUtil.fromHex(hex)));
+            filter = rebuilt;
+
+            log.debug("Revoked token list purged removed={} remaining={}",
+                    before - revoked.size(), revoked.size());
+        }
+    }
+
+    private void revoke(TokenHashView view) {
+
+        if (view.getJwtTokenHash() == null) {
+            return;
+        }
+
+        add(view.getJwtTokenHash(), JwtHashUtil.fromHex(view.getJwtTokenHash()), view.getJwtExpiresAt());
+    }
+
+    private void add(String hex, byte[] hash, Instant expiresAt) {
+
+        if (expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+
+        synchronized (filterLock) {
+            revoked.put(hex, expiresAt);
+            filter.add(hash);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.registration.security;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over SHA-256 token hashes.
+ *
+ * The hash is already uniformly distributed, so the probe positions are
+ * derived from its first 16 bytes by double hashing instead of running
+ * extra hash functions. Lookups read the digest in place and allocate
+ * nothing.
+ */
+final class TokenBloomFilter {
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final AtomicLongArray words;
+    private final long bitMask;
+    private final int hashFunctions;
+
+    TokenBloomFilter(int bits, int hashFunctions) {
+
+        if (Integer.bitCount(bits) != 1 || bits < Long.SIZE) {
+            throw new IllegalArgumentException("Bloom filter size must be a power of two >= 64");
+        }
+
+        this.words = new AtomicLongArray(bits / Long.SIZE);
+        this.bitMask = bits - 1L;
+        this.hashFunctions = hashFunctions;
+    }
+
+    void add(byte[] sha256) {
+
+        long h1 = (long) LONG_VIEW.get(sha256, 0);
+        long h2 = (long) LONG_VIEW.get(sha256, 8);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(byte[] sha256) {
+
+        long h1 = (long) LONG_VIEW.get(sha256, 0);
+        long h2 = (long) LONG_VIEW.get(sha256, 8);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
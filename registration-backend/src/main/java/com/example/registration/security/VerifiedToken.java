@@ -0,0 +1,77 @@
+package com.example.registration.security;
+
+import java.time.Instant;
+
+/**
+ * A JWT whose signature has already been verified, together with the
+ * claims the application reads from it.
+ *
+ * JwtFilter attaches the instance to the request under
+ * {@link #REQUEST_ATTRIBUTE} so controllers and services never parse
+ * the same token twice.
+ */
+public final class VerifiedToken {
+
+    public static final String REQUEST_ATTRIBUTE =
+            "com.example.registration.security.VerifiedToken";
+
+    private final String token;
+    private final String subject;
+    private final String role;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final int authVersion;
+
+    // SHA-256 of the raw token, computed on first use and then reused for
+    // as long as the instance lives in VerifiedTokenCache
+    private volatile byte[] tokenHash;
+
+    public VerifiedToken(
+            String token,
+            String subject,
+            String role,
+            Instant issuedAt,
+            Instant expiresAt,
+            int authVersion
+    ) {
+        this.token = token;
+        this.subject = subject;
+        this.role = role;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.authVersion = authVersion;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public int getAuthVersion() {
+        return authVersion;
+    }
+
+    public byte[] getTokenHash() {
+        byte[] hash = tokenHash;
+        if (hash == null) {
+            hash = JwtHashUtil.digest(token);
+            tokenHash = hash;
+        }
+        return hash;
+    }
+}
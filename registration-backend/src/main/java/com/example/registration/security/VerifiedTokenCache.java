@@ -0,0 +1,131 @@
+package com.example.registration.security;
+
+import com.example.registration.config.JwtUtil;
+import com.example.registration.dto.CacheStatsResponse;
+import com.example.registration.logging.BaseLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers tokens whose signature has already been verified.
+ *
+ * The frontend sends the same bearer token for its whole lifetime, so a
+ * repeat request only needs a fingerprint of the raw token and a string
+ * comparison instead of HMAC verification and JSON decoding. Entries
+ * expire exactly when the token does.
+ */
+@Component
+public class VerifiedTokenCache extends BaseLogger {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final JwtUtil jwtUtil;
+    private final Cache<Long, VerifiedToken> tokens;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(
+            JwtUtil jwtUtil,
+            @Value("${cache.verified-token.maximum-size:50000}") long maximumSize) {
+
+        this.jwtUtil = jwtUtil;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    public VerifiedToken verify(String token) {
+
+        long fingerprint = fingerprint(token);
+        VerifiedToken cached = tokens.getIfPresent(fingerprint);
+
+        // The fingerprint only narrows the lookup, the raw token must match exactly
+        if (cached != null
+                && cached.getToken().equals(token)
+                && cached.getExpiresAt().isAfter(Instant.now())) {
+
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+
+        VerifiedToken verified = jwtUtil.verify(token);
+        tokens.put(fingerprint, verified);
+
+        return verified;
+    }
+
+    public CacheStatsResponse stats() {
+
+        return new CacheStatsResponse(
+                tokens.estimatedSize(),
+                hits.sum(),
+                misses.sum(),
+                evictions.sum()
+        );
+    }
+
+    /**
+     * FNV-1a over the signature segment. The HMAC signature is already
+     * uniformly distributed, so hashing it avoids walking the whole token.
+     */
+    static long fingerprint(String token) {
+
+        int start = token.lastIndexOf('.') + 1;
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = start; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    private void onRemoval(Long fingerprint, VerifiedToken token, RemovalCause cause) {
+
+        if (cause.wasEvicted()) {
+            evictions.increment();
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<Long, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(Long key, VerifiedToken token, long currentTime) {
+            return remainingNanos(token);
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                Long key, VerifiedToken token, long currentTime, long currentDuration) {
+            return remainingNanos(token);
+        }
+
+        @Override
+        public long expireAfterRead(
+                Long key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingNanos(VerifiedToken token) {
+            long remainingMillis =
+                    token.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+    }
+}
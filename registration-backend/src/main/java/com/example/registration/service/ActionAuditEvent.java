@@ -0,0 +1,138 @@
+package com.example.registration.service;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * An action_audit row as it is kept in ActionAuditJournal. Holds plain
+ * values only, with the actor already resolved from the security context,
+ * so it can be shipped long after the request that produced it.
+ */
+final class ActionAuditEvent {
+
+    final Instant performedAt;
+    final String actorEmail;
+    final Roles actorRole;
+    final Long targetUserId;
+    final String targetUserEmail;
+    final ActionType actionType;
+    final ActionStatus actionStatus;
+    final String actionReason;
+    final String beforeState;
+    final String afterState;
+
+    ActionAuditEvent(
+            Instant performedAt,
+            String actorEmail,
+            Roles actorRole,
+            Long targetUserId,
+            String targetUserEmail,
+            ActionType actionType,
+            ActionStatus actionStatus,
+            String actionReason,
+            String beforeState,
+            String afterState
+    ) {
+        this.performedAt = performedAt;
+        this.actorEmail = actorEmail;
+        this.actorRole = actorRole;
+        this.targetUserId = targetUserId;
+        this.targetUserEmail = targetUserEmail;
+        this.actionType = actionType;
+        this.actionStatus = actionStatus;
+        this.actionReason = actionReason;
+        this.beforeState = beforeState;
+        this.afterState = afterState;
+    }
+
+    // =====================================================
+    // 🧱 BINARY FORM
+    // =====================================================
+
+    /**
+     * Fixed field order, strings as length-prefixed UTF-8 with -1 for null.
+     * Enums are stored by name so reordering their constants is harmless.
+     */
+    byte[] encode() {
+
+        byte[][] strings = {
+                utf8(actorEmail),
+                utf8(actorRole != null ? actorRole.name() : null),
+                utf8(targetUserEmail),
+                utf8(actionType != null ? actionType.name() : null),
+                utf8(actionStatus != null ? actionStatus.name() : null),
+                utf8(actionReason),
+                utf8(beforeState),
+                utf8(afterState)
+        };
+
+        int size = Long.BYTES + Integer.BYTES + 1 + Long.BYTES;
+        for (byte[] value : strings) {
+            size += Integer.BYTES + (value != null ? value.length : 0);
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+
+        out.putLong(performedAt.getEpochSecond());
+        out.putInt(performedAt.getNano());
+        out.put((byte) (targetUserId != null ? 1 : 0));
+        out.putLong(targetUserId != null ? targetUserId : 0L);
+
+        for (byte[] value : strings) {
+            if (value == null) {
+                out.putInt(-1);
+            } else {
+                out.putInt(value.length);
+                out.put(value);
+            }
+        }
+        return out.array();
+    }
+
+    static ActionAuditEvent decode(ByteBuffer in) {
+
+        Instant performedAt = Instant.ofEpochSecond(in.getLong(), in.getInt());
+        boolean hasTarget = in.get() != 0;
+        long targetUserId = in.getLong();
+
+        String actorEmail = readString(in);
+        String actorRole = readString(in);
+        String targetUserEmail = readString(in);
+        String actionType = readString(in);
+        String actionStatus = readString(in);
+
+        return new ActionAuditEvent(
+                performedAt,
+                actorEmail,
+                actorRole != null ? Roles.valueOf(actorRole) : null,
+                hasTarget ? targetUserId : null,
+                targetUserEmail,
+                actionType != null ? ActionType.valueOf(actionType) : null,
+                actionStatus != null ? ActionStatus.valueOf(actionStatus) : null,
+                readString(in),
+                readString(in),
+                readString(in)
+        );
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String readString(ByteBuffer in) {
+
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
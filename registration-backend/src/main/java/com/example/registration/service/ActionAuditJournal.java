@@ -0,0 +1,675 @@
+package com.example.registration.service;
+
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only local journal of action audit events.
+ *
+ * The journal is a directory of fixed-size segment files, each memory-mapped
+ * once and named after the sequence number of its first record. Appending
+ * copies one record into the mapped page cache under a short lock, so it
+ * survives a crash of the process; pages are forced to disk every
+ * force-interval-ms (0 forces every record) to also survive a crash of the
+ * machine. ActionAuditShipper reads the records back in order, inserts them
+ * into action_audit and checkpoints the last sequence it shipped, after which
+ * fully shipped segments are deleted.
+ *
+ * Segment layout: magic, version and first sequence (16 bytes), then records
+ * of [payload length][CRC32C of sequence and payload][sequence][payload].
+ * Unwritten space is zero, so a zero length marks the end of a segment. On
+ * start the newest segment is scanned and a torn last record is cut off.
+ *
+ * The journal also counts unshipped events per target email, so readers of
+ * action_audit can tell when rows about a user are still on their way.
+ */
+@Component
+public class ActionAuditJournal extends BaseLogger implements DisposableBean {
+
+    private static final int SEGMENT_MAGIC = 0x41414A31; // "AAJ1"
+    private static final int SEGMENT_VERSION = 1;
+    private static final int SEGMENT_HEADER = 16;
+    private static final int RECORD_HEADER = 16;
+    private static final String SEGMENT_PREFIX = "action-audit-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String NODE_ID_FILE = "journal.id";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final long forceIntervalMillis;
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object appendLock = new Object();
+
+    // Journaled but not yet shipped events per target email, see hasUnshipped
+    private final ConcurrentMap<String, Integer> unshippedTargets = new ConcurrentHashMap<>();
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder appendNanos = new LongAdder();
+    private final LongAccumulator maxAppendNanos = new LongAccumulator(Long::max, 0);
+
+    private volatile boolean open;
+    private volatile long lastSeq;
+    private String nodeId;
+
+    // Guarded by appendLock
+    private Segment active;
+    private long nextSeq;
+
+    public ActionAuditJournal(
+            @Value("${audit.action.journal.enabled:true}") boolean enabled,
+            @Value("${audit.action.journal.dir:audit-journal/action-audit}") Path directory,
+            @Value("${audit.action.journal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${audit.action.journal.max-segments:64}") int maxSegments,
+            @Value("${audit.action.journal.force-interval-ms:1000}") long forceIntervalMillis) {
+
+        if (segmentSize.toBytes() < 64 * 1024 || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("audit.action.journal.segment-size must be between 64KB and 2GB");
+        }
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("audit.action.journal.max-segments must be at least 2");
+        }
+
+        this.directory = directory.toAbsolutePath();
+        this.segmentBytes = (int) segmentSize.toBytes();
+        this.maxSegments = maxSegments;
+        this.forceIntervalMillis = forceIntervalMillis;
+
+        if (enabled) {
+            try {
+                open();
+            } catch (IOException | RuntimeException ex) {
+                // Audit must not keep the application from starting, ActionAuditService falls back to direct inserts
+                log.error("Action audit journal unavailable dir={}", this.directory, ex);
+            }
+        }
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    long forceIntervalMillis() {
+        return forceIntervalMillis;
+    }
+
+    // =====================================================
+    // 📂 OPEN & RECOVERY
+    // =====================================================
+
+    private void open() throws IOException {
+
+        Files.createDirectories(directory);
+
+        nodeId = readOrCreateNodeId();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    Segment segment = mapExisting(file);
+                    segments.put(segment.firstSeq, segment);
+                }
+            }
+        }
+
+        long checkpoint = readCheckpoint();
+
+        if (segments.isEmpty()) {
+            nextSeq = checkpoint + 1;
+            active = createSegment(nextSeq);
+        } else {
+            active = segments.lastEntry().getValue();
+            nextSeq = recover(active);
+
+            if (checkpoint >= nextSeq) {
+                // Journal files were removed but the checkpoint survived; never reuse a shipped sequence
+                if (active.position == SEGMENT_HEADER) {
+                    deleteSegment(active);
+                }
+                nextSeq = checkpoint + 1;
+                active = createSegment(nextSeq);
+            }
+        }
+
+        lastSeq = nextSeq - 1;
+        countUnshipped(checkpoint);
+        open = true;
+
+        log.info("Action audit journal opened dir={} node={} segments={} lastSeq={} checkpoint={}",
+                directory, nodeId, segments.size(), lastSeq, checkpoint);
+    }
+
+    /**
+     * Finds the end of the newest segment and returns the next sequence.
+     * Stops at the first record that is incomplete, out of sequence or
+     * fails its checksum, and zeroes whatever follows it.
+     */
+    private long recover(Segment segment) {
+
+        ByteBuffer buffer = segment.buffer;
+        int position = SEGMENT_HEADER;
+        long expected = segment.firstSeq;
+
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER + length > buffer.capacity()) {
+                break;
+            }
+            if (buffer.getLong(position + 8) != expected
+                    || buffer.getInt(position + 4) != checksum(buffer, position)) {
+                break;
+            }
+
+            position += RECORD_HEADER + length;
+            expected++;
+        }
+
+        if (position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+            log.warn("Action audit journal tail cut off segment={} offset={}", segment.path.getFileName(), position);
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            segment.dirty = true;
+        }
+
+        segment.position = position;
+        return expected;
+    }
+
+    /**
+     * Counts the events left over from the last run, which ActionAuditShipper
+     * ships from the same checkpoint.
+     */
+    private void countUnshipped(long checkpoint) {
+
+        Cursor cursor = cursor(checkpoint + 1);
+
+        for (List<Entry> batch = cursor.next(1000); !batch.isEmpty(); batch = cursor.next(1000)) {
+            batch.forEach(entry -> track(entry.event, 1));
+        }
+    }
+
+    private String readOrCreateNodeId() throws IOException {
+
+        Path file = directory.resolve(NODE_ID_FILE);
+        if (Files.exists(file)) {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        }
+
+        // Identifies this journal in action_audit, sequences are only unique per journal
+        String id = UUID.randomUUID().toString();
+        Files.writeString(file, id, StandardCharsets.UTF_8);
+        return id;
+    }
+
+    // =====================================================
+    // ✍️ APPEND
+    // =====================================================
+
+    /**
+     * Appends one event and returns false when it could not be journaled,
+     * in which case the caller has to store it some other way.
+     */
+    boolean append(ActionAuditEvent event) {
+
+        if (!open) {
+            rejected.increment();
+            return false;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            byte[] payload = event.encode();
+            int recordBytes = RECORD_HEADER + payload.length;
+
+            synchronized (appendLock) {
+
+                if (!open) {
+                    rejected.increment();
+                    return false;
+                }
+
+                if (active.position + recordBytes > segmentBytes) {
+                    rotate(recordBytes);
+                }
+
+                Segment segment = active;
+                int position = segment.position;
+                long seq = nextSeq;
+
+                // Length goes last: a record without one is simply not there yet
+                segment.buffer.put(position + RECORD_HEADER, payload);
+                segment.buffer.putLong(position + 8, seq);
+                segment.buffer.putInt(position + 4, checksum(seq, payload));
+                segment.buffer.putInt(position, payload.length);
+
+                segment.position = position + recordBytes;
+                segment.dirty = true;
+                nextSeq = seq + 1;
+
+                // Counted before lastSeq makes the record visible to the shipper
+                track(event, 1);
+                lastSeq = seq;
+
+                if (forceIntervalMillis == 0) {
+                    segment.buffer.force(position, recordBytes);
+                }
+            }
+
+        } catch (IOException | RuntimeException ex) {
+            rejected.increment();
+            log.error("Could not append action audit event to journal type={}", event.actionType, ex);
+            return false;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        appended.increment();
+        appendNanos.add(elapsed);
+        maxAppendNanos.accumulate(elapsed);
+        return true;
+    }
+
+    private void rotate(int recordBytes) throws IOException {
+
+        if (SEGMENT_HEADER + recordBytes > segmentBytes) {
+            throw new IOException("Action audit record of " + recordBytes + " bytes does not fit a journal segment");
+        }
+        if (segments.size() >= maxSegments) {
+            throw new IOException("Action audit journal full segments=" + segments.size()
+                    + " - the shipper is not keeping up");
+        }
+
+        Segment previous = active;
+        active = createSegment(nextSeq);
+        previous.buffer.force();
+        previous.dirty = false;
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, seq));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static int checksum(ByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 8, Long.BYTES));
+        crc.update(buffer.slice(position + RECORD_HEADER, length));
+        return (int) crc.getValue();
+    }
+
+    // =====================================================
+    // 📖 READ
+    // =====================================================
+
+    /**
+     * A reader positioned at {@code fromSeq}. Only sees records that were
+     * completely appended; not thread-safe, one per consumer.
+     */
+    Cursor cursor(long fromSeq) {
+        return new Cursor(fromSeq);
+    }
+
+    final class Cursor {
+
+        private long nextSeq;
+        private Segment segment;
+        private int position;
+
+        private Cursor(long fromSeq) {
+            this.nextSeq = fromSeq;
+        }
+
+        long nextSeq() {
+            return nextSeq;
+        }
+
+        /**
+         * Up to {@code max} records in sequence order, empty when the reader
+         * has caught up with the writer.
+         */
+        List<Entry> next(int max) {
+
+            List<Entry> entries = new ArrayList<>(Math.min(max, 256));
+            long available = lastSeq;
+
+            while (entries.size() < max && nextSeq <= available) {
+
+                if (!atRecord(segment, position, nextSeq)) {
+                    seek();
+                    continue;
+                }
+
+                ByteBuffer buffer = segment.buffer;
+                int length = buffer.getInt(position);
+                long seq = nextSeq;
+
+                if (buffer.getInt(position + 4) == checksum(buffer, position)) {
+                    entries.add(new Entry(seq, ActionAuditEvent.decode(
+                            buffer.slice(position + RECORD_HEADER, length))));
+                } else {
+                    skipped.increment();
+                    log.error("Action audit journal record failed its checksum seq={} segment={}",
+                            seq, segment.path.getFileName());
+                }
+
+                position += RECORD_HEADER + length;
+                nextSeq = seq + 1;
+            }
+            return entries;
+        }
+
+        /**
+         * Locates nextSeq, normally at the start of the following segment.
+         * If the record cannot be found the rest of its segment is lost and
+         * reading resumes at the next one.
+         */
+        private void seek() {
+
+            Map.Entry<Long, Segment> floor = segments.floorEntry(nextSeq);
+
+            if (floor != null) {
+                int found = find(floor.getValue(), nextSeq);
+                if (found >= 0) {
+                    segment = floor.getValue();
+                    position = found;
+                    return;
+                }
+            }
+
+            Long higher = segments.higherKey(nextSeq);
+            if (higher == null) {
+                throw new IllegalStateException("Action audit journal has no record seq=" + nextSeq);
+            }
+
+            skipped.add(higher - nextSeq);
+            log.error("Action audit journal records missing from seq={} to seq={}", nextSeq, higher - 1);
+
+            nextSeq = higher;
+            segment = segments.get(higher);
+            position = SEGMENT_HEADER;
+        }
+    }
+
+    private static boolean atRecord(Segment segment, int position, long seq) {
+
+        if (segment == null || position + RECORD_HEADER > segment.buffer.capacity()) {
+            return false;
+        }
+
+        int length = segment.buffer.getInt(position);
+
+        return length > 0
+                && position + RECORD_HEADER + length <= segment.buffer.capacity()
+                && segment.buffer.getLong(position + 8) == seq;
+    }
+
+    private static int find(Segment segment, long seq) {
+
+        int position = SEGMENT_HEADER;
+
+        while (position + RECORD_HEADER <= segment.buffer.capacity()) {
+
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER + length > segment.buffer.capacity()) {
+                return -1;
+            }
+            if (segment.buffer.getLong(position + 8) == seq) {
+                return position;
+            }
+            position += RECORD_HEADER + length;
+        }
+        return -1;
+    }
+
+    static final class Entry {
+
+        final long seq;
+        final ActionAuditEvent event;
+
+        Entry(long seq, ActionAuditEvent event) {
+            this.seq = seq;
+            this.event = event;
+        }
+    }
+
+    // =====================================================
+    // ✅ CHECKPOINT & CLEANUP
+    // =====================================================
+
+    long readCheckpoint() throws IOException {
+
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (Files.notExists(file)) {
+            return 0;
+        }
+
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        long seq = content.getLong(0);
+
+        CRC32C crc = new CRC32C();
+        crc.update(content.slice(0, Long.BYTES));
+        if (content.getInt(Long.BYTES) != (int) crc.getValue()) {
+            // Re-shipping is harmless, action_audit ignores sequences it already has
+            log.warn("Action audit journal checkpoint is corrupt, shipping from the oldest segment");
+            return segments.isEmpty() ? 0 : segments.firstKey() - 1;
+        }
+        return seq;
+    }
+
+    /**
+     * Records that everything up to {@code seq} is in action_audit and
+     * deletes the segments that only hold such records.
+     */
+    void checkpoint(long seq) throws IOException {
+
+        ByteBuffer content = ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(0, seq);
+        CRC32C crc = new CRC32C();
+        crc.update(content.slice(0, Long.BYTES));
+        content.putInt(Long.BYTES, (int) crc.getValue());
+
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, content.array());
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+
+            Long next = segments.higherKey(entry.getKey());
+            if (next == null || next - 1 > seq) {
+                break;
+            }
+            deleteSegment(entry.getValue());
+        }
+    }
+
+    /**
+     * Records that {@code entries} are in action_audit, whether or not the
+     * checkpoint could be written.
+     */
+    void shipped(List<Entry> entries) {
+        entries.forEach(entry -> track(entry.event, -1));
+    }
+
+    /**
+     * True while events about {@code targetEmail} are journaled but not yet
+     * in action_audit.
+     */
+    boolean hasUnshipped(String targetEmail) {
+        return targetEmail != null && unshippedTargets.containsKey(targetEmail);
+    }
+
+    private void track(ActionAuditEvent event, int delta) {
+
+        if (event.targetUserEmail == null) {
+            return;
+        }
+
+        // Entries are dropped when they reach zero, so the map only holds targets with a backlog
+        unshippedTargets.compute(event.targetUserEmail, (email, count) -> {
+            int sum = (count != null ? count : 0) + delta;
+            return sum > 0 ? sum : null;
+        });
+    }
+
+    /**
+     * Flushes segments written since the last call to disk.
+     */
+    void force() {
+        for (Segment segment : segments.values()) {
+            if (segment.dirty) {
+                segment.dirty = false;
+                segment.buffer.force();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+
+        synchronized (appendLock) {
+            if (!open) {
+                return;
+            }
+            open = false;
+        }
+
+        force();
+
+        log.info("Action audit journal closed lastSeq={} segments={}", lastSeq, segments.size());
+    }
+
+    // =====================================================
+    // 🗂 SEGMENT FILES
+    // =====================================================
+
+    private Segment createSegment(long firstSeq) throws IOException {
+
+        Path path = directory.resolve(SEGMENT_PREFIX + String.format("%020d", firstSeq) + SEGMENT_SUFFIX);
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+
+        buffer.putInt(0, SEGMENT_MAGIC);
+        buffer.putInt(4, SEGMENT_VERSION);
+        buffer.putLong(8, firstSeq);
+        buffer.force();
+
+        Segment segment = new Segment(path, firstSeq, buffer);
+        segment.position = SEGMENT_HEADER;
+        segments.put(firstSeq, segment);
+        return segment;
+    }
+
+    private Segment mapExisting(Path path) throws IOException {
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+
+        if (buffer.capacity() < SEGMENT_HEADER
+                || buffer.getInt(0) != SEGMENT_MAGIC
+                || buffer.getInt(4) != SEGMENT_VERSION) {
+            throw new IOException("Not an action audit journal segment: " + path);
+        }
+
+        return new Segment(path, buffer.getLong(8), buffer);
+    }
+
+    private void deleteSegment(Segment segment) throws IOException {
+        segments.remove(segment.firstSeq);
+        // The mapping stays valid until it is collected, readers holding it are unaffected
+        Files.deleteIfExists(segment.path);
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long firstSeq;
+        private final MappedByteBuffer buffer;
+
+        // Write offset, only meaningful for the active segment
+        private int position;
+        private volatile boolean dirty;
+
+        Segment(Path path, long firstSeq, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSeq = firstSeq;
+            this.buffer = buffer;
+        }
+    }
+
+    // =====================================================
+    // 📊 METRICS
+    // =====================================================
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    long appended() {
+        return appended.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+
+    double avgAppendMicros() {
+        long count = appended.sum();
+        return count == 0 ? 0.0 : appendNanos.sum() / 1_000.0 / count;
+    }
+
+    double maxAppendMicros() {
+        return maxAppendNanos.get() / 1_000.0;
+    }
+}
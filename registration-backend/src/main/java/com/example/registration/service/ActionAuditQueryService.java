@@ -1,62 +1,357 @@
 package com.example.registration.service;
 
-import com.example.registration.entity.ActionAudit;
+import com.example.registration.cache.UserAuthCache;
+import com.example.registration.dto.ActionAuditFilter;
+import com.example.registration.dto.ActionAuditPageResponse;
+import com.example.registration.dto.ActionAuditResponse;
+import com.example.registration.dto.ActionAuditStateResponse;
+import com.example.registration.dto.ActionAuditSummaryResponse;
+import com.example.registration.dto.ActionAuditTextSearchResponse;
 import com.example.registration.enums.ActionStatus;
 import com.example.registration.enums.ActionType;
+import com.example.registration.exception.BadRequestException;
+import com.example.registration.exception.ResourceNotFoundException;
+import com.example.registration.exception.ServiceUnavailableException;
 import com.example.registration.logging.BaseLogger;
 import com.example.registration.repository.ActionAuditRepository;
+import com.example.registration.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class ActionAuditQueryService extends BaseLogger {
 
+    // Actions that change the same snapshot, see AuditStateCodec
+    private static final Set<ActionType> PROFILE_ACTIONS = EnumSet.of(
+            ActionType.PROFILE_CREATE, ActionType.PROFILE_UPDATE, ActionType.USER_DELETE);
+    private static final Set<ActionType> AUTH_ACTIONS = EnumSet.of(
+            ActionType.ROLE_CHANGE, ActionType.ACCOUNT_ACTIVATE, ActionType.ACCOUNT_DEACTIVATE);
+
+    // Ids looked up per query when loading text search candidates
+    private static final int TEXT_FETCH_BATCH = 500;
+
     private final ActionAuditRepository auditRepo;
+    private final AuditStateCodec stateCodec;
+    private final ActionAuditJournal journal;
+    private final ActionAuditTextIndex textIndex;
+    private final UserRepository userRepo;
+    private final UserAuthCache authCache;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxTextCandidates;
+
+    public ActionAuditQueryService(
+            ActionAuditRepository auditRepo,
+            AuditStateCodec stateCodec,
+            ActionAuditJournal journal,
+            ActionAuditTextIndex textIndex,
+            UserRepository userRepo,
+            UserAuthCache authCache,
+            @Value("${audit.action.page.default-size:50}") int defaultPageSize,
+            @Value("${audit.action.page.max-size:500}") int maxPageSize,
+            @Value("${audit.action.text-index.max-candidates:20000}") int maxTextCandidates) {
 
-    public ActionAuditQueryService(ActionAuditRepository auditRepo) {
         this.auditRepo = auditRepo;
+        this.stateCodec = stateCodec;
+        this.journal = journal;
+        this.textIndex = textIndex;
+        this.userRepo = userRepo;
+        this.authCache = authCache;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxTextCandidates = maxTextCandidates;
     }
 
-    public List<ActionAudit> getAll() {
+    /**
+     * One page of the action audit log, newest first, for any combination
+     * of filters. Paging is keyset based on (performedAt, id) and rows are
+     * summaries without the before/after states; getAudit reads one row in
+     * full.
+     */
+    public ActionAuditPageResponse search(ActionAuditFilter filter, String cursor, Integer size) {
+
+        log.info(
+                "Action audit search type={} status={} actor={} actorRole={} targetId={} target={} from={} to={}",
+                filter.getActionType(), filter.getActionStatus(), filter.getActorEmail(),
+                filter.getActorRole(), filter.getTargetUserId(), filter.getTargetUserEmail(),
+                filter.getFrom(), filter.getTo()
+        );
 
-        log.info("Action audit query: fetch all records");
+        validateWindow(filter.getFrom(), filter.getTo());
+        int limit = pageSize(size);
 
-        return auditRepo.findAll();
+        AuditCursor after = cursor == null || cursor.isBlank()
+                ? null
+                : AuditCursor.decode(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        List<ActionAuditSummaryResponse> rows = auditRepo.findPage(
+                filter,
+                after == null ? null : after.getTime(),
+                after == null ? null : after.getId(),
+                limit + 1
+        );
+
+        if (rows.size() <= limit) {
+            return new ActionAuditPageResponse(rows, null);
+        }
+
+        List<ActionAuditSummaryResponse> page = rows.subList(0, limit);
+        ActionAuditSummaryResponse last = page.get(limit - 1);
+
+        return new ActionAuditPageResponse(
+                List.copyOf(page),
+                new AuditCursor(last.getPerformedAt(), last.getId()).encode()
+        );
     }
 
-    public List<ActionAudit> getByType(ActionType type) {
+    /**
+     * Rows mentioning every word of {@code text} in their emails, reason or
+     * states, most recently recorded first. Candidates come from
+     * ActionAuditTextIndex and are loaded by id in batches, applying the
+     * time window, until the page is full. At most max-candidates ids are
+     * looked up per search; a window that excludes most matches then ends
+     * the search early and the response is marked truncated.
+     */
+    public ActionAuditTextSearchResponse textSearch(String text, Instant from, Instant to, Integer size) {
+
+        log.info("Action audit text search text={} from={} to={}", text, from, to);
+
+        List<String> terms = ActionAuditTextIndex.queryTerms(text);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search text has no searchable words");
+        }
+        validateWindow(from, to);
+
+        if (!textIndex.isReady()) {
+            throw new ServiceUnavailableException("Action audit text index is still loading, please retry later");
+        }
 
-        log.info("Action audit query: fetch by type={}", type);
+        int limit = pageSize(size);
+        long[] ids = textIndex.match(terms);
 
-        return auditRepo.findByActionType(type);
+        List<ActionAuditSummaryResponse> items = new ArrayList<>();
+        int end = ids.length;
+        int stop = Math.max(0, ids.length - maxTextCandidates);
+
+        while (end > stop && items.size() < limit) {
+
+            int start = Math.max(stop, end - TEXT_FETCH_BATCH);
+            List<Long> batch = new ArrayList<>(end - start);
+            for (int i = end - 1; i >= start; i--) {
+                batch.add(ids[i]);
+            }
+
+            items.addAll(auditRepo.findSummariesByIdIn(batch, from, to));
+            end = start;
+        }
+
+        boolean truncated = items.size() > limit || end > 0;
+
+        return new ActionAuditTextSearchResponse(
+                terms,
+                ids.length,
+                items.size() > limit ? List.copyOf(items.subList(0, limit)) : items,
+                truncated
+        );
     }
 
-    public List<ActionAudit> getByStatus(ActionStatus status) {
+    public ActionAuditResponse getAudit(Long id) {
+
+        log.info("Action audit query: fetch id={}", id);
 
-        log.info("Action audit query: fetch by status={}", status);
+        return auditRepo.findResponseById(id)
+                .map(this::readable)
+                .orElseThrow(() -> new ResourceNotFoundException("Action audit entry not found"));
+    }
+
+    private static void validateWindow(Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+    }
 
-        return auditRepo.findByActionStatus(status);
+    private int pageSize(Integer size) {
+        return size == null
+                ? defaultPageSize
+                : Math.clamp(size, 1, maxPageSize);
     }
 
-    public List<ActionAudit> getByTypeAndStatus(ActionType type, ActionStatus status) {
+    private ActionAuditResponse readable(ActionAuditResponse row) {
 
-        log.info(
-                "Action audit query: fetch by type={} and status={}",
-                type, status
+        // Compressed states are expanded here, everything else is returned as stored
+        return new ActionAuditResponse(
+                row.getId(),
+                row.getActorEmail(),
+                row.getActorRole(),
+                row.getTargetUserId(),
+                row.getTargetUserEmail(),
+                row.getActionType(),
+                row.getActionStatus(),
+                row.getActionReason(),
+                stateCodec.toText(row.getBeforeState()),
+                stateCodec.toText(row.getAfterState()),
+                row.getPerformedAt()
         );
+    }
+
+    // =====================================================
+    // 🔁 STATE RECONSTRUCTION
+    // =====================================================
+
+    /**
+     * Full state of the target before and after one audited change.
+     *
+     * Rows only store the fields that changed, so the state is rebuilt from
+     * the target as it is now, undoing every later change newest first
+     * until the requested row is reached. A deleted profile has no current
+     * state, but its deletion row carries the full snapshot.
+     *
+     * Rows reach action_audit through ActionAuditJournal, shortly after the
+     * change itself. While the journal still holds events about the target
+     * the current state may include changes that have no row yet, so the
+     * result is marked incomplete.
+     */
+    public ActionAuditStateResponse getState(Long id) {
 
-        return auditRepo.findByActionTypeAndActionStatus(type, status);
+        log.info("Action audit query: rebuild state for id={}", id);
+
+        ActionAuditResponse row = auditRepo.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Action audit entry not found"));
+
+        Map<String, Object> rowBefore = stateCodec.toMap(row.getBeforeState());
+        Map<String, Object> rowAfter = stateCodec.toMap(row.getAfterState());
+
+        Set<ActionType> related = PROFILE_ACTIONS.contains(row.getActionType()) ? PROFILE_ACTIONS
+                : AUTH_ACTIONS.contains(row.getActionType()) ? AUTH_ACTIONS
+                : null;
+
+        if (related == null
+                || row.getActionStatus() != ActionStatus.SUCCESS
+                || !isStructured(row)) {
+            // Nothing to rebuild from, return what the row itself holds
+            return stateResponse(row, rowBefore, rowAfter, false);
+        }
+
+        // Checked before and after reading, a batch may be shipped in between
+        boolean complete = !journal.hasUnshipped(row.getTargetUserEmail());
+        Map<String, Object> state = currentState(related, row.getTargetUserEmail());
+
+        List<ActionAuditResponse> later = auditRepo.findLaterChanges(
+                row.getTargetUserEmail(), related, row.getPerformedAt(), row.getId());
+
+        for (ActionAuditResponse change : later) {
+            if (!isStructured(change)) {
+                complete = false;
+                continue;
+            }
+            complete &= state != null || !isUpdate(change);
+            state = undo(state, change);
+        }
+
+        complete &= !journal.hasUnshipped(row.getTargetUserEmail());
+
+        complete &= state != null || !isUpdate(row);
+
+        Map<String, Object> after = row.getAfterState() == null ? null : state;
+        Map<String, Object> before = undo(state, row);
+
+        if (after == null && rowAfter != null) {
+            after = rowAfter;
+            complete = false;
+        }
+        if (before == null && rowBefore != null) {
+            before = rowBefore;
+            complete = false;
+        }
+
+        return stateResponse(row, before, after, complete);
     }
 
-    public List<ActionAudit> getByDateRange(Instant from, Instant to) {
+    private Map<String, Object> currentState(Set<ActionType> related, String email) {
 
-        log.info(
-                "Action audit query: fetch by date range from={} to={}",
-                from, to
-        );
+        if (email == null) {
+            return null;
+        }
+        if (related == PROFILE_ACTIONS) {
+            return userRepo.findByAuthEmail(email).map(AuditStateCodec::snapshot).orElse(null);
+        }
+        return authCache.findByEmail(email).map(AuditStateCodec::snapshot).orElse(null);
+    }
 
-        return auditRepo.findByPerformedAtBetween(from, to);
+    /**
+     * The state just before {@code change}, given the state just after it.
+     */
+    private Map<String, Object> undo(Map<String, Object> state, ActionAuditResponse change) {
+
+        if (change.getBeforeState() == null) {
+            // Creation: the target did not exist before
+            return null;
+        }
+
+        Map<String, Object> oldValues = stateCodec.toMap(change.getBeforeState());
+
+        if (change.getAfterState() == null) {
+            // Deletion: the row holds the full snapshot
+            return oldValues;
+        }
+
+        Map<String, Object> previous = state != null ? new LinkedHashMap<>(state) : new LinkedHashMap<>();
+        previous.putAll(oldValues);
+        return previous;
+    }
+
+    private static boolean isUpdate(ActionAuditResponse row) {
+        return row.getBeforeState() != null && row.getAfterState() != null;
+    }
+
+    private boolean isStructured(ActionAuditResponse row) {
+        return stateCodec.isStructured(row.getBeforeState())
+                && stateCodec.isStructured(row.getAfterState());
+    }
+
+    private static ActionAuditStateResponse stateResponse(
+            ActionAuditResponse row,
+            Map<String, Object> before,
+            Map<String, Object> after,
+            boolean complete) {
+
+        Set<String> fields = new LinkedHashSet<>();
+        if (before != null) {
+            fields.addAll(before.keySet());
+        }
+        if (after != null) {
+            fields.addAll(after.keySet());
+        }
+
+        List<String> changed = new ArrayList<>();
+        for (String field : fields) {
+            Object oldValue = before != null ? before.get(field) : null;
+            Object newValue = after != null ? after.get(field) : null;
+            if (!Objects.equals(oldValue, newValue)) {
+                changed.add(field);
+            }
+        }
+
+        return new ActionAuditStateResponse(
+                row.getId(),
+                row.getActionType(),
+                row.getTargetUserEmail(),
+                row.getPerformedAt(),
+                changed,
+                before,
+                after,
+                complete
+        );
     }
 }
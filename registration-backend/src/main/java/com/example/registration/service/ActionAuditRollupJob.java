@@ -0,0 +1,85 @@
+package com.example.registration.service;
+
+import com.example.registration.exception.BadRequestException;
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Recounts action_audit_daily from action_audit.
+ *
+ * Counts are kept exact as rows are inserted; the scheduled run recounts
+ * the most recent days only as a safety net. Drift on older days is only
+ * repaired when they are recounted on request. Recounting is idempotent,
+ * so nodes running it at the same time only repeat each other's work.
+ */
+@Component
+public class ActionAuditRollupJob extends BaseLogger {
+
+    private final ActionAuditRollupService rollupService;
+    private final boolean enabled;
+    private final int recentDays;
+    private final int maxRecountDays;
+
+    public ActionAuditRollupJob(
+            ActionAuditRollupService rollupService,
+            @Value("${audit.action.rollup.enabled:true}") boolean enabled,
+            @Value("${audit.action.rollup.recent-days:2}") int recentDays,
+            @Value("${audit.action.rollup.max-recount-days:366}") int maxRecountDays) {
+
+        this.rollupService = rollupService;
+        this.enabled = enabled;
+        this.recentDays = Math.max(1, recentDays);
+        this.maxRecountDays = maxRecountDays;
+    }
+
+    @Scheduled(cron = "${audit.action.rollup.cron:0 */10 * * * *}", zone = "UTC")
+    public void recountRecent() {
+
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        try {
+            recount(today.minusDays(recentDays - 1), today);
+        } catch (DataAccessException ex) {
+            log.error("Action audit rollup recount failed", ex);
+        }
+    }
+
+    /**
+     * Recounts every UTC day from..to, both included, one transaction per
+     * day. Returns the number of days recounted.
+     */
+    public int recount(LocalDate from, LocalDate to) {
+
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRecountDays) {
+            throw new BadRequestException("At most " + maxRecountDays + " days can be recounted at once");
+        }
+
+        long started = System.nanoTime();
+        int days = 0;
+        int rows = 0;
+
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            rows += rollupService.recount(day);
+            days++;
+        }
+
+        log.info("Action audit rollup recounted days={} from={} to={} rows={} in {} ms",
+                days, from, to, rows, (System.nanoTime() - started) / 1_000_000);
+
+        return days;
+    }
+}
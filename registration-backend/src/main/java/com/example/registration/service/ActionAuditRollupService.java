@@ -0,0 +1,186 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.ActionAuditDayCount;
+import com.example.registration.dto.ActionAuditStatsGroup;
+import com.example.registration.dto.ActionAuditStatsResponse;
+import com.example.registration.entity.ActionAuditDaily;
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+import com.example.registration.exception.BadRequestException;
+import com.example.registration.logging.BaseLogger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * Maintains and reads action_audit_daily.
+ *
+ * Inserted audits are added to their day's counts in the same transaction
+ * that inserts them, so the counts stay exact without recounting. recount
+ * replaces a day's counts with a fresh count of its action_audit rows; it
+ * backs up the increments, for instance after rows were changed by hand,
+ * but only for the days it is asked to recount. Reads only touch the rollup,
+ * so a date range costs the same however many audits it covers.
+ */
+@Service
+public class ActionAuditRollupService extends BaseLogger {
+
+    private static final String INCREMENT_SQL = """
+            INSERT INTO action_audit_daily (action_day, action_type, action_status, actor_role, action_count)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE action_count = action_count + VALUES(action_count)
+            """;
+
+    private static final String RECOUNT_SQL = """
+            INSERT INTO action_audit_daily (action_day, action_type, action_status, actor_role, action_count)
+            SELECT ?, action_type, action_status, actor_role, COUNT(*)
+            FROM action_audit
+            WHERE performed_at >= ? AND performed_at < ?
+            GROUP BY action_type, action_status, actor_role
+            """;
+
+    private static final String GROUPS_SQL = """
+            SELECT action_type, action_status, actor_role, SUM(action_count) AS total
+            FROM action_audit_daily
+            WHERE action_day BETWEEN ? AND ?
+            GROUP BY action_type, action_status, actor_role
+            ORDER BY action_type, action_status, actor_role
+            """;
+
+    private static final String DAYS_SQL = """
+            SELECT action_day,
+                   SUM(action_count) AS total,
+                   SUM(CASE WHEN action_status = 'FAILED' THEN action_count ELSE 0 END) AS failed
+            FROM action_audit_daily
+            WHERE action_day BETWEEN ? AND ?
+            GROUP BY action_day
+            ORDER BY action_day
+            """;
+
+    // Rows are locked in key order so concurrent shippers cannot deadlock
+    private static final Comparator<ActionAuditDaily.Key> KEY_ORDER = Comparator
+            .comparing(ActionAuditDaily.Key::getActionDay)
+            .thenComparing(key -> key.getActionType().name())
+            .thenComparing(key -> key.getActionStatus().name())
+            .thenComparing(key -> key.getActorRole().name());
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ActionAuditRollupService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // =====================================================
+    // ➕ INCREMENTS
+    // =====================================================
+
+    /**
+     * Adds the events to their days' counts. Call it inside the transaction
+     * that inserts them, so the rollup commits or rolls back with the rows.
+     */
+    void increment(List<ActionAuditEvent> events) {
+
+        Map<ActionAuditDaily.Key, Long> counts = new TreeMap<>(KEY_ORDER);
+
+        for (ActionAuditEvent event : events) {
+            counts.merge(new ActionAuditDaily.Key(
+                    day(event),
+                    event.actionType,
+                    event.actionStatus,
+                    event.actorRole
+            ), 1L, Long::sum);
+        }
+
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(new Object[] {
+                Date.valueOf(key.getActionDay()),
+                key.getActionType().name(),
+                key.getActionStatus().name(),
+                key.getActorRole().name(),
+                count
+        }));
+
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, rows);
+    }
+
+    static LocalDate day(ActionAuditEvent event) {
+        return LocalDate.ofInstant(event.performedAt, ZoneOffset.UTC);
+    }
+
+    // =====================================================
+    // 🔁 RECOUNT
+    // =====================================================
+
+    /**
+     * Replaces the counts of one UTC day with a count of its action_audit
+     * rows. Returns the number of rollup rows written.
+     */
+    public int recount(LocalDate day) {
+
+        Calendar utc = Calendar.getInstance(UTC);
+
+        Integer written = transactionTemplate.execute(status -> {
+
+            jdbcTemplate.update("DELETE FROM action_audit_daily WHERE action_day = ?", Date.valueOf(day));
+
+            return jdbcTemplate.update(RECOUNT_SQL, ps -> {
+                ps.setDate(1, Date.valueOf(day));
+                LoginAuditWriter.setInstant(ps, 2, day.atStartOfDay(ZoneOffset.UTC).toInstant(), utc);
+                LoginAuditWriter.setInstant(ps, 3, day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(), utc);
+            });
+        });
+
+        return written != null ? written : 0;
+    }
+
+    // =====================================================
+    // 📊 READ
+    // =====================================================
+
+    public ActionAuditStatsResponse stats(LocalDate from, LocalDate to) {
+
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        log.info("Action audit stats requested from={} to={}", from, to);
+
+        List<ActionAuditStatsGroup> groups = jdbcTemplate.query(GROUPS_SQL, (rs, rowNum) -> new ActionAuditStatsGroup(
+                ActionType.valueOf(rs.getString("action_type")),
+                ActionStatus.valueOf(rs.getString("action_status")),
+                Roles.valueOf(rs.getString("actor_role")),
+                rs.getLong("total")
+        ), Date.valueOf(from), Date.valueOf(to));
+
+        List<ActionAuditDayCount> days = jdbcTemplate.query(DAYS_SQL, (rs, rowNum) -> new ActionAuditDayCount(
+                rs.getDate("action_day").toLocalDate(),
+                rs.getLong("total"),
+                rs.getLong("failed")
+        ), Date.valueOf(from), Date.valueOf(to));
+
+        long total = 0;
+        long failed = 0;
+        for (ActionAuditDayCount day : days) {
+            total += day.getTotal();
+            failed += day.getFailed();
+        }
+
+        return new ActionAuditStatsResponse(from, to, total, failed, groups, days);
+    }
+}
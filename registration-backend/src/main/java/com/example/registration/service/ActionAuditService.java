@@ -8,16 +8,49 @@ import com.example.registration.logging.BaseLogger;
 import com.example.registration.repository.ActionAuditRepository;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records admin, profile and password-reset actions.
+ *
+ * Events are appended to the local ActionAuditJournal and reach
+ * action_audit through ActionAuditShipper, so the calling operation only
+ * pays for the append. When the journal is disabled or cannot take an
+ * event, it is inserted directly as before, together with its
+ * action_audit_daily count. Either way the event is then pushed to
+ * ActionAuditTail for live subscribers.
+ */
 @Service
 public class ActionAuditService extends BaseLogger {
 
+    // Width of action_audit.action_reason; longer reasons are cut to fit
+    private static final int MAX_REASON_LENGTH = 255;
+
     private final ActionAuditRepository auditRepo;
+    private final ActionAuditJournal journal;
+    private final AuditStateCodec stateCodec;
+    private final ActionAuditRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ActionAuditTail tail;
+
+    public ActionAuditService(
+            ActionAuditRepository auditRepo,
+            ActionAuditJournal journal,
+            AuditStateCodec stateCodec,
+            ActionAuditRollupService rollupService,
+            TransactionTemplate transactionTemplate,
+            ActionAuditTail tail) {
 
-    public ActionAuditService(ActionAuditRepository auditRepo) {
         this.auditRepo = auditRepo;
+        this.journal = journal;
+        this.stateCodec = stateCodec;
+        this.rollupService = rollupService;
+        this.transactionTemplate = transactionTemplate;
+        this.tail = tail;
     }
 
     private String getActorEmailSafely() {
@@ -47,24 +80,24 @@ public class ActionAuditService extends BaseLogger {
             String reason
     ) {
         try {
-            ActionAudit audit = new ActionAudit();
-
-            audit.setActorEmail(getActorEmailSafely());
-            audit.setActorRole(getActorRoleSafely());
-            audit.setTargetUserEmail(targetEmail);
-            audit.setTargetUserId(targetUserId);
-            audit.setActionType(actionType);
-            audit.setActionStatus(status);
-            audit.setBeforeState(beforeState);
-            audit.setAfterState(afterState);
-            audit.setActionReason(reason);
-            audit.setPerformedAt(Instant.now());
+            ActionAuditEvent event = new ActionAuditEvent(
+                    Instant.now(),
+                    getActorEmailSafely(),
+                    getActorRoleSafely(),
+                    targetUserId,
+                    targetEmail,
+                    actionType,
+                    status,
+                    clamp(reason),
+                    beforeState,
+                    afterState
+            );
 
-            auditRepo.save(audit);
+            record(event);
 
             log.debug(
                     "Action audit recorded type={} status={} actor={} target={}",
-                    actionType, status, audit.getActorEmail(), targetEmail
+                    actionType, status, event.actorEmail, targetEmail
             );
 
         } catch (RuntimeException ex) {
@@ -76,32 +109,55 @@ public class ActionAuditService extends BaseLogger {
         }
     }
 
-    public void logFailure(
+    /**
+     * Records a successful change between two snapshots taken with
+     * AuditStateCodec.snapshot; only the fields that differ are stored.
+     * Pass a null before for creation and a null after for deletion.
+     */
+    public void logChange(
             ActionType actionType,
             String targetEmail,
             Long targetUserId,
+            Map<String, Object> before,
+            Map<String, Object> after,
             String reason
     ) {
+        String[] states;
         try {
-            ActionAudit audit = new ActionAudit();
+            states = stateCodec.encodeChange(before, after);
+        } catch (RuntimeException ex) {
+            log.error("Could not encode action audit state type={} target={}", actionType, targetEmail, ex);
+            states = new String[2];
+        }
 
-            audit.setActorEmail(getActorEmailSafely());
-            audit.setActorRole(getActorRoleSafely());
-            audit.setTargetUserEmail(targetEmail);
-            audit.setTargetUserId(targetUserId);
-            audit.setActionType(actionType);
-            audit.setActionStatus(ActionStatus.FAILED);
-            audit.setActionReason(reason);
-            audit.setPerformedAt(Instant.now());
+        logAction(actionType, ActionStatus.SUCCESS, targetEmail, targetUserId, states[0], states[1], reason);
+    }
 
-            audit.setBeforeState(null);
-            audit.setAfterState(null);
+    public void logFailure(
+            ActionType actionType,
+            String targetEmail,
+            Long targetUserId,
+            String reason
+    ) {
+        try {
+            ActionAuditEvent event = new ActionAuditEvent(
+                    Instant.now(),
+                    getActorEmailSafely(),
+                    getActorRoleSafely(),
+                    targetUserId,
+                    targetEmail,
+                    actionType,
+                    ActionStatus.FAILED,
+                    clamp(reason),
+                    null,
+                    null
+            );
 
-            auditRepo.save(audit);
+            record(event);
 
             log.warn(
                     "Action audit failure recorded type={} actor={} target={}",
-                    actionType, audit.getActorEmail(), targetEmail
+                    actionType, event.actorEmail, targetEmail
             );
 
         } catch (RuntimeException ex) {
@@ -111,4 +167,38 @@ public class ActionAuditService extends BaseLogger {
             );
         }
     }
+
+    private static String clamp(String reason) {
+        return reason != null && reason.length() > MAX_REASON_LENGTH
+                ? reason.substring(0, MAX_REASON_LENGTH)
+                : reason;
+    }
+
+    private void record(ActionAuditEvent event) {
+
+        if (journal.isOpen() && journal.append(event)) {
+            tail.publish(event);
+            return;
+        }
+
+        ActionAudit audit = new ActionAudit();
+
+        audit.setActorEmail(event.actorEmail);
+        audit.setActorRole(event.actorRole);
+        audit.setTargetUserEmail(event.targetUserEmail);
+        audit.setTargetUserId(event.targetUserId);
+        audit.setActionType(event.actionType);
+        audit.setActionStatus(event.actionStatus);
+        audit.setBeforeState(event.beforeState);
+        audit.setAfterState(event.afterState);
+        audit.setActionReason(event.actionReason);
+        audit.setPerformedAt(event.performedAt);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            auditRepo.save(audit);
+            rollupService.increment(List.of(event));
+        });
+
+        tail.publish(event);
+    }
 }
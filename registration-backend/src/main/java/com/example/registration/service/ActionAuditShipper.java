@@ -0,0 +1,384 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.ActionAuditJournalStatsResponse;
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves journaled action audit events into action_audit.
+ *
+ * A single background thread reads ActionAuditJournal from the last
+ * checkpoint, inserts up to batch-size records per transaction and then
+ * advances the checkpoint. Failed batches are retried with a growing pause
+ * and stay in the journal meanwhile, so MySQL being down only delays audit
+ * rows. Every row carries its journal node and sequence under a unique key;
+ * a batch shipped again after a crash before its checkpoint is ignored.
+ *
+ * Each batch adds to action_audit_daily in the same transaction. Rows of
+ * the batch that are already in the table are left out of both the insert
+ * and the counts, so a re-shipped batch is never counted twice.
+ *
+ * Only failures that may pass are retried. When the database rejects the
+ * batch itself (a value too long for its column, for example) the batch is
+ * shipped row by row, and a row that is still rejected is logged in full
+ * and dropped, so one bad record cannot hold up the journal for good.
+ */
+@Component
+public class ActionAuditShipper extends BaseLogger implements SmartLifecycle {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO action_audit
+                (performed_at, actor_email, actor_role, target_user_id, target_user_email,
+                 action_type, action_status, action_reason, before_state, after_state,
+                 journal_node, journal_seq)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE journal_seq = journal_seq
+            """;
+
+    private static final String SHIPPED_SQL = """
+            SELECT journal_seq FROM action_audit
+            WHERE journal_node = ? AND journal_seq BETWEEN ? AND ?
+            """;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long MAX_RETRY_PAUSE_MILLIS = 30_000;
+
+    private final ActionAuditJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActionAuditRollupService rollupService;
+
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final long drainTimeoutMillis;
+
+    private final LongAdder shipped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder shipFailures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder shipNanos = new LongAdder();
+    private final LongAccumulator maxShipNanos = new LongAccumulator(Long::max, 0);
+
+    private volatile boolean running;
+    private volatile long shippedSeq;
+    private Thread shipperThread;
+
+    public ActionAuditShipper(
+            ActionAuditJournal journal,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ActionAuditRollupService rollupService,
+            @Value("${audit.action.journal.batch-size:500}") int batchSize,
+            @Value("${audit.action.journal.poll-interval-ms:200}") long pollIntervalMillis,
+            @Value("${audit.action.journal.drain-timeout-ms:30000}") long drainTimeoutMillis) {
+
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupService = rollupService;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    // =====================================================
+    // 🚚 BACKGROUND SHIPPER
+    // =====================================================
+
+    private void runShipper(ActionAuditJournal.Cursor cursor) {
+
+        long lastForce = System.nanoTime();
+        long forceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(journal.forceIntervalMillis());
+
+        while (true) {
+            try {
+                List<ActionAuditJournal.Entry> batch = cursor.next(batchSize);
+
+                if (!batch.isEmpty() && !ship(batch)) {
+                    // Stopping while the database is unreachable, the rest waits in the journal
+                    break;
+                }
+
+                if (forceIntervalNanos > 0 && System.nanoTime() - lastForce >= forceIntervalNanos) {
+                    journal.force();
+                    lastForce = System.nanoTime();
+                }
+
+                if (batch.isEmpty()) {
+                    if (!running) {
+                        break;
+                    }
+                    Thread.sleep(pollIntervalMillis);
+                }
+
+            } catch (InterruptedException ex) {
+                // Only stop() interrupts, and only after the drain timeout
+                Thread.currentThread().interrupt();
+                break;
+
+            } catch (RuntimeException ex) {
+                log.error("Action audit shipper failed reading the journal", ex);
+                if (!running || !pause(pollIntervalMillis)) {
+                    break;
+                }
+            }
+        }
+
+        log.info("Action audit shipper stopped shipped={} shippedSeq={} lastSeq={}",
+                shipped.sum(), shippedSeq, journal.lastSeq());
+    }
+
+    /**
+     * Inserts one batch, retrying until it succeeds. Returns false only when
+     * the shipper is stopping and the batch could not be shipped.
+     */
+    private boolean ship(List<ActionAuditJournal.Entry> batch) throws InterruptedException {
+
+        long retryPause = 200;
+
+        while (true) {
+
+            long start = System.nanoTime();
+
+            try {
+                try {
+                    insert(batch);
+                } catch (NonTransientDataAccessException ex) {
+                    log.warn("Action audit batch rejected size={} fromSeq={}, shipping row by row",
+                            batch.size(), batch.getFirst().seq, ex);
+                    insertEach(batch);
+                }
+
+                long elapsed = System.nanoTime() - start;
+                shipped.add(batch.size());
+                batches.increment();
+                shipNanos.add(elapsed);
+                maxShipNanos.accumulate(elapsed);
+                break;
+
+            } catch (RuntimeException ex) {
+                shipFailures.increment();
+                log.warn("Action audit batch insert failed size={} fromSeq={} retryInMs={}",
+                        batch.size(), batch.getFirst().seq, retryPause, ex);
+
+                if (!running) {
+                    return false;
+                }
+                Thread.sleep(retryPause);
+                retryPause = Math.min(retryPause * 2, MAX_RETRY_PAUSE_MILLIS);
+            }
+        }
+
+        journal.shipped(batch);
+
+        long last = batch.getLast().seq;
+        shippedSeq = last;
+
+        try {
+            journal.checkpoint(last);
+        } catch (IOException ex) {
+            // Not fatal: the batch is shipped again after a restart and ignored by the unique key
+            log.error("Could not write action audit journal checkpoint seq={}", last, ex);
+        }
+        return true;
+    }
+
+    /**
+     * Ships each entry on its own and drops those the database rejects.
+     * Any other failure is thrown, and the whole batch is retried; rows
+     * already in action_audit are then skipped.
+     */
+    private void insertEach(List<ActionAuditJournal.Entry> batch) {
+
+        for (ActionAuditJournal.Entry entry : batch) {
+            try {
+                insert(List.of(entry));
+
+            } catch (NonTransientDataAccessException ex) {
+                ActionAuditEvent event = entry.event;
+                dropped.increment();
+                log.error("Action audit row rejected by the database and dropped seq={} performedAt={} actor={} "
+                                + "actorRole={} targetId={} target={} type={} status={} reason={} before={} after={}",
+                        entry.seq, event.performedAt, event.actorEmail, event.actorRole, event.targetUserId,
+                        event.targetUserEmail, event.actionType, event.actionStatus, event.actionReason,
+                        event.beforeState, event.afterState, ex);
+            }
+        }
+    }
+
+    private void insert(List<ActionAuditJournal.Entry> batch) {
+
+        Calendar utc = Calendar.getInstance(UTC);
+        String nodeId = journal.nodeId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Shipped before a crash or a lost checkpoint: neither insert nor count those rows again
+            Set<Long> present = new HashSet<>(jdbcTemplate.queryForList(
+                    SHIPPED_SQL, Long.class, nodeId, batch.getFirst().seq, batch.getLast().seq));
+
+            List<ActionAuditJournal.Entry> fresh = present.isEmpty()
+                    ? batch
+                    : batch.stream().filter(entry -> !present.contains(entry.seq)).toList();
+
+            if (fresh.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(
+                    INSERT_SQL,
+                    fresh,
+                    fresh.size(),
+                    (ps, entry) -> bind(ps, entry, nodeId, utc)
+            );
+            rollupService.increment(fresh.stream().map(entry -> entry.event).toList());
+        });
+    }
+
+    private static void bind(PreparedStatement ps, ActionAuditJournal.Entry entry, String nodeId, Calendar utc)
+            throws SQLException {
+
+        ActionAuditEvent event = entry.event;
+
+        LoginAuditWriter.setInstant(ps, 1, event.performedAt, utc);
+        ps.setString(2, event.actorEmail);
+        ps.setString(3, event.actorRole != null ? event.actorRole.name() : null);
+        ps.setObject(4, event.targetUserId, Types.BIGINT);
+        ps.setString(5, event.targetUserEmail);
+        ps.setString(6, event.actionType != null ? event.actionType.name() : null);
+        ps.setString(7, event.actionStatus != null ? event.actionStatus.name() : null);
+        ps.setString(8, event.actionReason);
+        ps.setString(9, event.beforeState);
+        ps.setString(10, event.afterState);
+        ps.setString(11, nodeId);
+        ps.setLong(12, entry.seq);
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // =====================================================
+    // 🔄 LIFECYCLE
+    // =====================================================
+
+    @Override
+    public void start() {
+
+        if (!journal.isOpen()) {
+            log.warn("Action audit journal is not open, shipper not started");
+            return;
+        }
+
+        long checkpoint;
+        try {
+            checkpoint = journal.readCheckpoint();
+        } catch (IOException ex) {
+            log.error("Could not read action audit journal checkpoint, shipper not started", ex);
+            return;
+        }
+
+        shippedSeq = checkpoint;
+        running = true;
+
+        ActionAuditJournal.Cursor cursor = journal.cursor(checkpoint + 1);
+
+        shipperThread = new Thread(() -> runShipper(cursor), "action-audit-shipper");
+        shipperThread.setDaemon(true);
+        shipperThread.start();
+
+        log.info("Action audit shipper started fromSeq={} lastSeq={} batchSize={}",
+                checkpoint + 1, journal.lastSeq(), batchSize);
+    }
+
+    @Override
+    public void stop() {
+
+        if (!running) {
+            return;
+        }
+
+        running = false;
+
+        try {
+            shipperThread.join(drainTimeoutMillis);
+
+            if (shipperThread.isAlive()) {
+                log.error("Action audit shipper did not drain within {} ms, interrupting lag={}",
+                        drainTimeoutMillis, journal.lastSeq() - shippedSeq);
+                shipperThread.interrupt();
+            }
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Same phase as LoginAuditWriter: started before the web server accepts
+     * requests and stopped only after it has stopped producing events.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // =====================================================
+    // 📊 METRICS
+    // =====================================================
+
+    public ActionAuditJournalStatsResponse stats() {
+
+        long batchCount = batches.sum();
+        long lastSeq = journal.lastSeq();
+        long shippedUpTo = shippedSeq;
+
+        return new ActionAuditJournalStatsResponse(
+                journal.isOpen(),
+                journal.nodeId(),
+                journal.segmentCount(),
+                lastSeq,
+                shippedUpTo,
+                Math.max(0, lastSeq - shippedUpTo),
+                journal.appended(),
+                journal.rejected(),
+                journal.skipped(),
+                shipped.sum(),
+                batchCount,
+                shipFailures.sum(),
+                dropped.sum(),
+                journal.avgAppendMicros(),
+                journal.maxAppendMicros(),
+                batchCount == 0 ? 0.0 : shipNanos.sum() / 1_000_000.0 / batchCount,
+                maxShipNanos.get() / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,511 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.ActionAuditTailEvent;
+import com.example.registration.dto.ActionAuditTailStatsResponse;
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams action audits to super admins as server-sent events, at the
+ * moment ActionAuditService records them.
+ *
+ * Recorded events go into a ring of buffer-size slots, and publishing never
+ * waits for a subscriber. A subscriber is only a position in that ring. One
+ * dispatcher thread wakes on every publish and hands each subscriber that
+ * is behind to a small sender pool. Each event is serialized once, as a
+ * complete SSE frame, when it is published. The sender writes everything
+ * pending for a subscriber as one block with a single flush. A subscriber
+ * is in at most one send at a time, so a slow connection occupies at most
+ * one sender, until its write completes or times out, and never builds up
+ * a queue.
+ *
+ * A subscriber more than max-lag events behind is disconnected. The browser
+ * then reconnects with Last-Event-ID. It resumes from the ring if its
+ * position is still buffered. Otherwise it gets a "reset" event and should
+ * reload through /search. When max-subscribers are already connected, a
+ * new stream gets only a "busy" event and asks to be retried later.
+ *
+ * Event ids are "generation-sequence", where the generation changes on
+ * every start, so an id from before a restart is recognised as stale. Only
+ * actions recorded on this instance are streamed.
+ */
+@Component
+public class ActionAuditTail extends BaseLogger implements SmartLifecycle {
+
+    static final String AUDIT_EVENT = "audit";
+    static final String RESET_EVENT = "reset";
+    static final String BUSY_EVENT = "busy";
+
+    private static final int MAX_EVENTS_PER_FLUSH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long BUSY_RETRY_MILLIS = 30_000;
+    private static final MediaType FRAME_TYPE = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final Entry[] ring;
+    private final int mask;
+    private final int maxLag;
+    private final int maxSubscribers;
+    private final int senderThreads;
+    private final long heartbeatNanos;
+    private final String generation;
+
+    private final Object publishLock = new Object();
+
+    // Sequence of the newest entry in the ring, 0 before the first publish
+    private volatile long head;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder resumed = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread dispatcher;
+    private ExecutorService senders;
+
+    public ActionAuditTail(
+            JsonMapper jsonMapper,
+            @Value("${audit.action.tail.enabled:true}") boolean enabled,
+            @Value("${audit.action.tail.buffer-size:4096}") int bufferSize,
+            @Value("${audit.action.tail.max-lag:1024}") int maxLag,
+            @Value("${audit.action.tail.max-subscribers:100}") int maxSubscribers,
+            @Value("${audit.action.tail.sender-threads:2}") int senderThreads,
+            @Value("${audit.action.tail.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis) {
+
+        // A power of two, so a sequence maps to its slot with a mask
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.ring = new Entry[capacity];
+        this.mask = capacity - 1;
+        this.maxLag = Math.clamp(maxLag, 1, capacity);
+        this.maxSubscribers = maxSubscribers;
+        this.senderThreads = Math.max(1, senderThreads);
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        this.generation = Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    private static final class Entry {
+
+        final long seq;
+        final String frame;
+
+        Entry(long seq, String frame) {
+            this.seq = seq;
+            this.frame = frame;
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean();
+        final AtomicBoolean completed = new AtomicBoolean();
+
+        // Next sequence to send, advanced only by the sender holding 'sending'
+        volatile long next;
+        volatile long lastWriteNanos = System.nanoTime();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, long next) {
+            this.emitter = emitter;
+            this.next = next;
+        }
+    }
+
+    // =====================================================
+    // 📣 PUBLISH
+    // =====================================================
+
+    /**
+     * Adds a recorded event to the ring. Never blocks on subscribers; an
+     * entry a subscriber has not read yet is simply overwritten.
+     */
+    void publish(ActionAuditEvent event) {
+
+        if (!enabled) {
+            return;
+        }
+
+        // Compact JSON escapes line breaks, so the data fits on one SSE line
+        String data = jsonMapper.writeValueAsString(new ActionAuditTailEvent(
+                event.actorEmail,
+                event.actorRole,
+                event.targetUserId,
+                event.targetUserEmail,
+                event.actionType,
+                event.actionStatus,
+                event.actionReason,
+                event.performedAt
+        ));
+
+        synchronized (publishLock) {
+            long seq = head + 1;
+            String frame = "id:" + generation + "-" + seq + "\nevent:" + AUDIT_EVENT + "\ndata:" + data + "\n\n";
+            ring[(int) (seq & mask)] = new Entry(seq, frame);
+            head = seq;
+        }
+
+        wakeDispatcher();
+    }
+
+    private void wakeDispatcher() {
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // =====================================================
+    // 📡 SUBSCRIBE
+    // =====================================================
+
+    /**
+     * Opens a stream of the events recorded from now on, or from just after
+     * lastEventId when that event is still buffered.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+
+        if (!running || subscribers.size() >= maxSubscribers) {
+            rejected.increment();
+            log.warn("Action audit tail subscription rejected running={} subscribers={}",
+                    running, subscribers.size());
+            return busy();
+        }
+
+        long current = head;
+        long next = current + 1;
+        boolean reset = false;
+
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            long last = sequenceOf(lastEventId);
+
+            if (last >= 0 && last <= current && current - last <= maxLag) {
+                next = last + 1;
+                resumed.increment();
+            } else {
+                reset = true;
+                resets.increment();
+            }
+        }
+
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, next);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> close(subscriber));
+        emitter.onTimeout(() -> release(subscriber));
+
+        if (reset) {
+            try {
+                // Buffered by the emitter until the response is ready
+                emitter.send(SseEmitter.event()
+                        .name(RESET_EVENT)
+                        .data("Missed events are no longer buffered, reload the audit list"));
+            } catch (IOException ex) {
+                emitter.completeWithError(ex);
+                return emitter;
+            }
+        }
+
+        subscribers.add(subscriber);
+        wakeDispatcher();
+
+        log.info("Action audit tail subscribed fromSeq={} head={} reset={} subscribers={}",
+                next, current, reset, subscribers.size());
+
+        return emitter;
+    }
+
+    /**
+     * The emitter behind a new subscription; tests substitute one that
+     * records or stalls its writes.
+     */
+    SseEmitter newEmitter() {
+        return new SseEmitter();
+    }
+
+    /**
+     * A stream that only tells the browser when to try again. EventSource
+     * gives up for good on an error status, so the refusal is an event.
+     */
+    private static SseEmitter busy() {
+
+        SseEmitter emitter = new SseEmitter();
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(BUSY_EVENT)
+                    .reconnectTime(BUSY_RETRY_MILLIS)
+                    .data("Too many action audit tail subscribers, retrying later"));
+            emitter.complete();
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    /**
+     * The sequence in an event id of this generation, or -1 when the id is
+     * malformed or was issued before the last restart.
+     */
+    long sequenceOf(String eventId) {
+
+        int dash = eventId.lastIndexOf('-');
+        if (dash <= 0 || !generation.equals(eventId.substring(0, dash))) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    // =====================================================
+    // 🚚 DISPATCH
+    // =====================================================
+
+    private void runDispatcher() {
+
+        while (running) {
+
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+
+            long current = head;
+            long now = System.nanoTime();
+
+            for (Subscriber subscriber : subscribers) {
+
+                if (current - subscriber.next + 1 > maxLag) {
+                    drop(subscriber, current);
+                    continue;
+                }
+
+                boolean due = subscriber.next <= current
+                        || now - subscriber.lastWriteNanos >= heartbeatNanos;
+
+                if (due && subscriber.sending.compareAndSet(false, true)) {
+                    senders.execute(() -> send(subscriber));
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs on the sender pool while holding the subscriber's sending flag.
+     */
+    private void send(Subscriber subscriber) {
+
+        try {
+            if (!subscriber.closed) {
+                writePending(subscriber);
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Mostly the client went away or the emitter already completed
+            log.debug("Action audit tail subscriber disconnected: {}", ex.toString());
+            close(subscriber);
+        } finally {
+            subscriber.sending.set(false);
+        }
+
+        if (subscriber.closed) {
+            // drop() may have closed it while the write was running
+            if (subscriber.sending.compareAndSet(false, true)) {
+                complete(subscriber);
+            }
+        } else if (subscriber.next <= head) {
+            // Published while this send ran, when the dispatcher had to skip it
+            wakeDispatcher();
+        }
+    }
+
+    private void writePending(Subscriber subscriber) throws IOException {
+
+        long current = head;
+        long seq = subscriber.next;
+
+        if (seq > current) {
+            subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            subscriber.lastWriteNanos = System.nanoTime();
+            return;
+        }
+
+        long until = Math.min(current, seq + MAX_EVENTS_PER_FLUSH - 1);
+        StringBuilder frames = new StringBuilder();
+
+        for (; seq <= until; seq++) {
+            Entry entry = ring[(int) (seq & mask)];
+
+            if (entry == null || entry.seq != seq) {
+                // Overwritten while the subscriber was behind
+                drop(subscriber, current);
+                return;
+            }
+
+            frames.append(entry.frame);
+        }
+
+        // Written as is: one write and one flush for the whole block
+        subscriber.emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(frames.toString(), FRAME_TYPE)));
+        sent.add(until - subscriber.next + 1);
+        subscriber.next = until + 1;
+        subscriber.lastWriteNanos = System.nanoTime();
+    }
+
+    private void drop(Subscriber subscriber, long current) {
+
+        if (subscriber.closed) {
+            return;
+        }
+
+        dropped.increment();
+        log.warn("Action audit tail subscriber dropped lag={} maxLag={}", current - subscriber.next + 1, maxLag);
+
+        close(subscriber);
+
+        // A send still in progress completes the emitter when it returns
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> complete(subscriber));
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Closes and completes on the calling thread, unless a send is running;
+     * that send completes the emitter when it returns.
+     */
+    private void release(Subscriber subscriber) {
+        close(subscriber);
+        if (subscriber.sending.compareAndSet(false, true)) {
+            complete(subscriber);
+        }
+    }
+
+    private static void complete(Subscriber subscriber) {
+        if (subscriber.completed.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    // =====================================================
+    // 🔄 LIFECYCLE
+    // =====================================================
+
+    @Override
+    public void start() {
+
+        if (!enabled) {
+            log.info("Action audit tail disabled");
+            return;
+        }
+
+        AtomicInteger threadIds = new AtomicInteger();
+
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "action-audit-tail-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+
+        dispatcher = Thread.ofPlatform()
+                .name("action-audit-tail-dispatcher")
+                .daemon()
+                .start(this::runDispatcher);
+
+        log.info("Action audit tail started bufferSize={} maxLag={} maxSubscribers={} senders={}",
+                ring.length, maxLag, maxSubscribers, senderThreads);
+    }
+
+    @Override
+    public void stop() {
+
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        wakeDispatcher();
+
+        subscribers.forEach(this::release);
+        senders.shutdown();
+
+        try {
+            dispatcher.join(1000);
+            // A write blocked on a dead connection does not return before the socket times out
+            if (!senders.awaitTermination(1, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            senders.shutdownNow();
+        }
+
+        log.info("Action audit tail stopped published={} sent={} dropped={}", head, sent.sum(), dropped.sum());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Default phase: streams are closed before the web server's graceful
+     * shutdown, which would otherwise wait for them to time out.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    // =====================================================
+    // 📊 METRICS
+    // =====================================================
+
+    public ActionAuditTailStatsResponse stats() {
+
+        long published = head;
+
+        return new ActionAuditTailStatsResponse(
+                subscribers.size(),
+                ring.length,
+                published,
+                Math.min(published, ring.length),
+                sent.sum(),
+                resumed.sum(),
+                resets.sum(),
+                dropped.sum(),
+                rejected.sum()
+        );
+    }
+}
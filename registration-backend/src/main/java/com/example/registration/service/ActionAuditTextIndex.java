@@ -0,0 +1,749 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.ActionAuditTextIndexStatsResponse;
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * In-memory inverted index over action_audit for free-text search.
+ *
+ * Every row is indexed under the words of its actor email, target email,
+ * reason and the values (not the field names) of its before/after states.
+ * Emails and dotted names are indexed whole and by their parts, so
+ * "jane@example.com", "jane" and "example" all find the row. Each word maps
+ * to a PostingList of row ids; a search intersects the lists of all query
+ * words and the caller loads the matching rows by id.
+ *
+ * The first start builds the index from action_audit in parallel id ranges.
+ * It is written to a snapshot file after that build and on shutdown, and
+ * later starts load the snapshot and only read the rows added since. New
+ * rows are picked up by polling for ids above the highest indexed one. Ids
+ * skipped by a poll may belong to transactions that commit later, so they
+ * are looked up again until gap-timeout-ms has passed.
+ */
+@Component
+public class ActionAuditTextIndex extends BaseLogger implements DisposableBean {
+
+    private static final String SELECT_ROWS = """
+            SELECT id, actor_email, target_user_email, action_reason, before_state, after_state
+            FROM action_audit
+            """;
+
+    private static final int SNAPSHOT_MAGIC = 0x41415449;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    // Wider holes come from auto-increment jumps, not from open transactions
+    private static final int MAX_TRACKED_GAP = 1000;
+    private static final int GAP_LOOKUP_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditStateCodec stateCodec;
+
+    private final boolean enabled;
+    private final Path snapshotFile;
+    private final int threads;
+    private final int rangeSize;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> terms = new HashMap<>();
+    private long maxIndexedId;
+
+    // Skipped ids and when they were first skipped, only touched by synchronized methods
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    private volatile boolean ready;
+    private volatile boolean loadedFromSnapshot;
+    private volatile long loadMillis;
+    private volatile int pendingGaps;
+
+    private final LongAdder indexedRows = new LongAdder();
+    private final LongAdder searches = new LongAdder();
+
+    public ActionAuditTextIndex(
+            JdbcTemplate jdbcTemplate,
+            AuditStateCodec stateCodec,
+            @Value("${audit.action.text-index.enabled:true}") boolean enabled,
+            @Value("${audit.action.text-index.snapshot-file:audit-index/action-audit-text.idx}") Path snapshotFile,
+            @Value("${audit.action.text-index.threads:4}") int threads,
+            @Value("${audit.action.text-index.range-size:10000}") int rangeSize,
+            @Value("${audit.action.text-index.batch-size:1000}") int batchSize,
+            @Value("${audit.action.text-index.gap-timeout-ms:60000}") long gapTimeoutMillis) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.stateCodec = stateCodec;
+        this.enabled = enabled;
+        this.snapshotFile = snapshotFile.toAbsolutePath();
+        this.threads = threads;
+        this.rangeSize = rangeSize;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(gapTimeoutMillis);
+    }
+
+    // =====================================================
+    // 🔤 TOKENIZING
+    // =====================================================
+
+    /**
+     * Lower-cased words of a search text. Only whole words are returned;
+     * the parts of an email are searchable on their own because documents
+     * index them separately.
+     */
+    public static List<String> queryTerms(String text) {
+
+        Set<String> words = new LinkedHashSet<>();
+        tokenize(text, false, words::add);
+        return List.copyOf(words);
+    }
+
+    private static void tokenize(String text, boolean withParts, Consumer<String> sink) {
+
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+
+        for (int i = 0; i <= lower.length(); i++) {
+            if (i < lower.length() && isWordChar(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                emitWord(lower, start, i, withParts, sink);
+                start = -1;
+            }
+        }
+    }
+
+    private static void emitWord(String text, int start, int end, boolean withParts, Consumer<String> sink) {
+
+        while (start < end && isJoiner(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isJoiner(text.charAt(end - 1))) {
+            end--;
+        }
+
+        emitTerm(text, start, end, sink);
+
+        if (!withParts || text.substring(start, end).chars().noneMatch(c -> isJoiner((char) c))) {
+            return;
+        }
+
+        int partStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || isJoiner(text.charAt(i))) {
+                emitTerm(text, partStart, i, sink);
+                partStart = i + 1;
+            }
+        }
+    }
+
+    private static void emitTerm(String text, int start, int end, Consumer<String> sink) {
+
+        int length = end - start;
+        if (length >= MIN_TERM_LENGTH && length <= MAX_TERM_LENGTH) {
+            sink.accept(text.substring(start, end));
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || isJoiner(c);
+    }
+
+    private static boolean isJoiner(char c) {
+        return c == '@' || c == '.' || c == '_' || c == '+' || c == '-';
+    }
+
+    /**
+     * All terms of one action_audit row as read by SELECT_ROWS.
+     */
+    private IndexedRow readRow(ResultSet rs) throws SQLException {
+
+        Set<String> rowTerms = new HashSet<>();
+
+        tokenize(rs.getString("actor_email"), true, rowTerms::add);
+        tokenize(rs.getString("target_user_email"), true, rowTerms::add);
+        tokenize(rs.getString("action_reason"), true, rowTerms::add);
+        addStateTerms(rs.getString("before_state"), rowTerms);
+        addStateTerms(rs.getString("after_state"), rowTerms);
+
+        return new IndexedRow(rs.getLong("id"), rowTerms);
+    }
+
+    private void addStateTerms(String stored, Set<String> rowTerms) {
+
+        if (stored == null) {
+            return;
+        }
+
+        Map<String, Object> state = stateCodec.toMap(stored);
+        if (state == null) {
+            // Free text from before states were stored as diffs
+            tokenize(stateCodec.toText(stored), true, rowTerms::add);
+            return;
+        }
+
+        for (Object value : state.values()) {
+            if (value != null) {
+                tokenize(String.valueOf(value), true, rowTerms::add);
+            }
+        }
+    }
+
+    // =====================================================
+    // 🔍 SEARCH
+    // =====================================================
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of the rows containing every one of {@code words}, ascending.
+     */
+    public long[] match(List<String> words) {
+
+        searches.increment();
+
+        List<PostingList> lists = new ArrayList<>(words.size());
+
+        lock.readLock().lock();
+        try {
+            for (String word : words) {
+                PostingList list = terms.get(word);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+
+            // Rarest word first, so every following step can only shrink the result
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            long[] result = lists.getFirst().toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i).toArray());
+            }
+            return result;
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids present in both ascending arrays, {@code small} being the shorter.
+     */
+    static long[] intersect(long[] small, long[] large) {
+
+        long[] out = new long[small.length];
+        int count = 0;
+
+        if (large.length > small.length * 16) {
+            // Far apart in size: look each id up instead of walking both lists
+            for (long id : small) {
+                if (Arrays.binarySearch(large, id) >= 0) {
+                    out[count++] = id;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    out[count++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    // =====================================================
+    // 🏗️ STARTUP LOAD & PARALLEL REBUILD
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+
+        if (!enabled) {
+            log.info("Action audit text index disabled");
+            return;
+        }
+
+        Thread.ofPlatform()
+                .name("action-audit-text-index")
+                .daemon(true)
+                .start(this::open);
+    }
+
+    private synchronized void open() {
+
+        long started = System.nanoTime();
+
+        try {
+            loadedFromSnapshot = loadSnapshot();
+
+            if (!loadedFromSnapshot) {
+                rebuild();
+                writeSnapshotQuietly();
+            }
+
+            loadMillis = (System.nanoTime() - started) / 1_000_000;
+            ready = true;
+
+            log.info("Action audit text index ready fromSnapshot={} terms={} maxId={} in {} ms",
+                    loadedFromSnapshot, termCount(), maxIndexedId, loadMillis);
+
+            catchUp();
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Action audit text index build interrupted");
+
+        } catch (Exception ex) {
+            log.error("Action audit text index could not be built, text search stays unavailable", ex);
+        }
+    }
+
+    private void rebuild() throws Exception {
+
+        Map<String, Object> bounds =
+                jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM action_audit");
+
+        Map<String, PostingList> merged = new HashMap<>();
+        Map<Long, Long> rebuildGaps = new LinkedHashMap<>();
+        long maxId = 0;
+
+        if (bounds.get("min_id") != null) {
+
+            long minId = ((Number) bounds.get("min_id")).longValue();
+            maxId = ((Number) bounds.get("max_id")).longValue();
+
+            log.info("Action audit text index rebuild started ids={}..{} threads={} rangeSize={}",
+                    minId, maxId, threads, rangeSize);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+            try {
+                List<Future<RangeResult>> ranges = new ArrayList<>();
+
+                for (long from = minId; from <= maxId; from += rangeSize) {
+                    long start = from;
+                    long end = Math.min(maxId, from + rangeSize - 1);
+                    // Only the newest range can hold ids of transactions still in flight
+                    boolean trackGaps = end == maxId;
+                    ranges.add(pool.submit(() -> indexRange(start, end, trackGaps)));
+                }
+
+                // Ranges are merged in id order, so every list is extended at its end
+                for (Future<RangeResult> range : ranges) {
+                    RangeResult result = range.get();
+
+                    result.terms.forEach((term, list) -> {
+                        PostingList existing = merged.putIfAbsent(term, list);
+                        if (existing != null) {
+                            existing.appendAll(list);
+                        }
+                    });
+                    rebuildGaps.putAll(result.gaps);
+                    indexedRows.add(result.rows);
+                }
+
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            terms = merged;
+            maxIndexedId = maxId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        gaps.clear();
+        gaps.putAll(rebuildGaps);
+        pendingGaps = gaps.size();
+    }
+
+    private RangeResult indexRange(long start, long end, boolean trackGaps) {
+
+        RangeResult result = new RangeResult();
+        long now = System.nanoTime();
+        long[] expected = { start };
+
+        jdbcTemplate.query(SELECT_ROWS + "WHERE id BETWEEN ? AND ? ORDER BY id", rs -> {
+
+            IndexedRow row = readRow(rs);
+
+            if (trackGaps) {
+                recordGaps(result.gaps, expected[0], row.id, now);
+            }
+            expected[0] = row.id + 1;
+
+            for (String term : row.terms) {
+                result.terms.computeIfAbsent(term, t -> new PostingList()).add(row.id);
+            }
+            result.rows++;
+
+        }, start, end);
+
+        return result;
+    }
+
+    // =====================================================
+    // 🔄 INCREMENTAL UPDATES
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${audit.action.text-index.refresh-interval-ms:1000}")
+    public void refresh() {
+
+        if (!ready) {
+            return;
+        }
+
+        try {
+            catchUp();
+        } catch (RuntimeException ex) {
+            log.warn("Action audit text index refresh failed, retrying on the next run", ex);
+        }
+    }
+
+    private synchronized void catchUp() {
+
+        long after = maxIndexedId;
+
+        while (true) {
+            List<IndexedRow> rows = jdbcTemplate.query(
+                    SELECT_ROWS + "WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> readRow(rs),
+                    after, batchSize);
+
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            long now = System.nanoTime();
+            long expected = after + 1;
+            for (IndexedRow row : rows) {
+                recordGaps(gaps, expected, row.id, now);
+                expected = row.id + 1;
+            }
+
+            apply(rows);
+            after = rows.getLast().id;
+
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+
+        recheckGaps();
+        pendingGaps = gaps.size();
+    }
+
+    private void recheckGaps() {
+
+        if (gaps.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutNanos);
+
+        List<Long> pending = new ArrayList<>(gaps.keySet());
+
+        for (int from = 0; from < pending.size(); from += GAP_LOOKUP_BATCH) {
+
+            List<Long> chunk = pending.subList(from, Math.min(pending.size(), from + GAP_LOOKUP_BATCH));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+
+            List<IndexedRow> rows = jdbcTemplate.query(
+                    SELECT_ROWS + "WHERE id IN (" + placeholders + ")",
+                    (rs, rowNum) -> readRow(rs),
+                    chunk.toArray());
+
+            if (!rows.isEmpty()) {
+                apply(rows);
+                rows.forEach(row -> gaps.remove(row.id));
+            }
+        }
+    }
+
+    private void apply(List<IndexedRow> rows) {
+
+        lock.writeLock().lock();
+        try {
+            for (IndexedRow row : rows) {
+                for (String term : row.terms) {
+                    terms.computeIfAbsent(term, t -> new PostingList()).add(row.id);
+                }
+                maxIndexedId = Math.max(maxIndexedId, row.id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        indexedRows.add(rows.size());
+    }
+
+    private static void recordGaps(Map<Long, Long> gaps, long expected, long id, long now) {
+
+        if (id - expected > MAX_TRACKED_GAP) {
+            return;
+        }
+        for (long missing = expected; missing < id; missing++) {
+            gaps.put(missing, now);
+        }
+    }
+
+    // =====================================================
+    // 💾 SNAPSHOT
+    // =====================================================
+
+    /**
+     * Loads the snapshot file. Returns false, leaving the index empty, when
+     * there is none, it is damaged, or it is ahead of action_audit (the
+     * database was replaced since it was written).
+     */
+    private boolean loadSnapshot() {
+
+        if (Files.notExists(snapshotFile)) {
+            return false;
+        }
+
+        CRC32C crc = new CRC32C();
+        Map<String, PostingList> loaded = new HashMap<>();
+        Map<Long, Long> loadedGaps = new LinkedHashMap<>();
+        long snapshotMaxId;
+
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16), crc))) {
+
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Action audit text index snapshot has an unknown format, rebuilding");
+                return false;
+            }
+
+            snapshotMaxId = in.readLong();
+
+            long now = System.nanoTime();
+            int gapCount = in.readInt();
+            for (int i = 0; i < gapCount; i++) {
+                loadedGaps.put(in.readLong(), now);
+            }
+
+            int termCount = in.readInt();
+            for (int i = 0; i < termCount; i++) {
+                loaded.put(in.readUTF(), PostingList.read(in));
+            }
+
+            int expectedCrc = (int) crc.getValue();
+            if (in.readInt() != expectedCrc) {
+                log.warn("Action audit text index snapshot is corrupt, rebuilding");
+                return false;
+            }
+
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Action audit text index snapshot could not be read, rebuilding", ex);
+            return false;
+        }
+
+        Long currentMaxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM action_audit", Long.class);
+        if (snapshotMaxId > (currentMaxId != null ? currentMaxId : 0)) {
+            log.warn("Action audit text index snapshot is ahead of action_audit snapshotMaxId={} maxId={}, rebuilding",
+                    snapshotMaxId, currentMaxId);
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            terms = loaded;
+            maxIndexedId = snapshotMaxId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        gaps.clear();
+        gaps.putAll(loadedGaps);
+        pendingGaps = gaps.size();
+        return true;
+    }
+
+    /**
+     * Writes the index to a temporary file and moves it over the snapshot,
+     * so a crash mid-write leaves the previous snapshot in place.
+     */
+    private synchronized void writeSnapshot() throws IOException {
+
+        Files.createDirectories(snapshotFile.getParent());
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+        CRC32C crc = new CRC32C();
+
+        // Writers only run in synchronized methods, the index cannot change meanwhile
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16), crc))) {
+
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(maxIndexedId);
+
+            out.writeInt(gaps.size());
+            for (Long id : gaps.keySet()) {
+                out.writeLong(id);
+            }
+
+            out.writeInt(terms.size());
+            for (Map.Entry<String, PostingList> entry : terms.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().write(out);
+            }
+
+            out.writeInt((int) crc.getValue());
+        }
+
+        Files.move(temp, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        log.info("Action audit text index snapshot written file={} terms={} maxId={}",
+                snapshotFile, terms.size(), maxIndexedId);
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException ex) {
+            // Not fatal: the next start rebuilds from action_audit
+            log.error("Could not write action audit text index snapshot file={}", snapshotFile, ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (ready) {
+            writeSnapshotQuietly();
+        }
+    }
+
+    // =====================================================
+    // 📊 METRICS
+    // =====================================================
+
+    private int termCount() {
+
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ActionAuditTextIndexStatsResponse stats() {
+
+        long postings = 0;
+        long postingBytes = 0;
+        int termCount;
+        long maxId;
+
+        lock.readLock().lock();
+        try {
+            termCount = terms.size();
+            maxId = maxIndexedId;
+            for (PostingList list : terms.values()) {
+                postings += list.size();
+                postingBytes += list.sizeInBytes();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new ActionAuditTextIndexStatsResponse(
+                ready,
+                loadedFromSnapshot,
+                loadMillis,
+                termCount,
+                postings,
+                postingBytes,
+                indexedRows.sum(),
+                maxId,
+                pendingGaps,
+                searches.sum()
+        );
+    }
+
+    // =====================================================
+    // 🧩 INTERNAL TYPES
+    // =====================================================
+
+    private static final class IndexedRow {
+
+        final long id;
+        final Set<String> terms;
+
+        IndexedRow(long id, Set<String> terms) {
+            this.id = id;
+            this.terms = terms;
+        }
+    }
+
+    private static final class RangeResult {
+
+        final Map<String, PostingList> terms = new HashMap<>();
+        final Map<Long, Long> gaps = new LinkedHashMap<>();
+        long rows;
+    }
+}
@@ -1,8 +1,8 @@
 package com.example.registration.service;
 
+import com.example.registration.cache.UserAuthCache;
 import com.example.registration.entity.User;
 import com.example.registration.entity.UserAuth;
-import com.example.registration.enums.ActionStatus;
 import com.example.registration.enums.ActionType;
 import com.example.registration.enums.Roles;
 import com.example.registration.exception.AccessDeniedException;
@@ -10,26 +10,38 @@ import com.example.registration.exception.ResourceNotFoundException;
 import com.example.registration.logging.BaseLogger;
 import com.example.registration.repository.UserAuthRepository;
 import com.example.registration.repository.UserRepository;
+import com.example.registration.security.AuthVersionRegistry;
+import com.example.registration.security.RevokedTokenRegistry;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AdminService extends BaseLogger {
 
     private final UserAuthRepository authRepo;
+    private final UserAuthCache authCache;
     private final UserRepository userRepo;
     private final ActionAuditService actionAuditService;
+    private final AuthVersionRegistry authVersions;
+    private final RevokedTokenRegistry revokedTokens;
 
     public AdminService(
             UserRepository userRepo,
             UserAuthRepository authRepo,
-            ActionAuditService actionAuditService) {
+            UserAuthCache authCache,
+            ActionAuditService actionAuditService,
+            AuthVersionRegistry authVersions,
+            RevokedTokenRegistry revokedTokens) {
 
         this.userRepo = userRepo;
         this.authRepo = authRepo;
+        this.authCache = authCache;
         this.actionAuditService = actionAuditService;
+        this.authVersions = authVersions;
+        this.revokedTokens = revokedTokens;
     }
 
     // =====================================================
@@ -79,12 +91,14 @@ public class AdminService extends BaseLogger {
 
         log.info("Admin requested delete of auth record authId={}", authId);
 
-        if (!authRepo.existsById(authId)) {
-            log.warn("Auth delete failed - authId not found={}", authId);
-            throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND);
-        }
+        UserAuth auth = authCache.findById(authId)
+                .orElseThrow(() -> {
+                    log.warn("Auth delete failed - authId not found={}", authId);
+                    return new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND);
+                });
 
-        authRepo.deleteById(authId);
+        authCache.deleteById(authId);
+        authVersions.evict(auth.getEmail());
 
         log.info("Auth record deleted successfully authId={}", authId);
     }
@@ -100,7 +114,7 @@ public class AdminService extends BaseLogger {
         try {
             log.info("Role change attempt authId={} newRole={}", authId, newRole);
 
-            target = authRepo.findById(authId)
+            target = authCache.findById(authId)
                     .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
 
             if (target.getEmail().equals(getLoggedInEmail())) {
@@ -133,18 +147,20 @@ public class AdminService extends BaseLogger {
                     throw new AccessDeniedException("Invalid role assignment");
             }
 
-            String before = target.getRole().name();
+            Roles before = target.getRole();
+            Map<String, Object> beforeState = AuditStateCodec.snapshot(target);
 
             target.setRole(newRole);
-            authRepo.save(target);
+            target.bumpAuthVersion();
+            authCache.save(target);
+            authVersions.update(target);
 
-            actionAuditService.logAction(
+            actionAuditService.logChange(
                     ActionType.ROLE_CHANGE,
-                    ActionStatus.SUCCESS,
                     target.getEmail(),
                     target.getId(),
-                    before,
-                    newRole.name(),
+                    beforeState,
+                    AuditStateCodec.snapshot(target),
                     "Role updated"
             );
 
@@ -176,7 +192,7 @@ public class AdminService extends BaseLogger {
         try {
             log.info("Account status change attempt authId={} active={}", authId, active);
 
-            auth = authRepo.findById(authId)
+            auth = authCache.findById(authId)
                     .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
 
             if (auth.getEmail().equals(getLoggedInEmail())) {
@@ -193,21 +209,27 @@ public class AdminService extends BaseLogger {
             }
 
             boolean beforeActive = auth.isActive();
+            Map<String, Object> beforeState = AuditStateCodec.snapshot(auth);
 
             auth.setActive(active);
-            authRepo.save(auth);
+            auth.bumpAuthVersion();
+            authCache.save(auth);
+            authVersions.update(auth);
+
+            if (!active) {
+                revokedTokens.revokeAll(auth.getEmail());
+            }
 
             ActionType actionType = active
                     ? ActionType.ACCOUNT_ACTIVATE
                     : ActionType.ACCOUNT_DEACTIVATE;
 
-            actionAuditService.logAction(
+            actionAuditService.logChange(
                     actionType,
-                    ActionStatus.SUCCESS,
                     auth.getEmail(),
                     auth.getId(),
-                    String.valueOf(beforeActive),
-                    String.valueOf(active),
+                    beforeState,
+                    AuditStateCodec.snapshot(auth),
                     active ? "Account activated" : "Account deactivated"
             );
 
@@ -268,22 +290,26 @@ public class AdminService extends BaseLogger {
                 throw new AccessDeniedException(ErrorMessages.ADMIN_CANNOT_DELETE_ADMIN);
             }
 
-            String beforeState = user.toString();
+            Map<String, Object> beforeState = AuditStateCodec.snapshot(user);
 
             userRepo.delete(user);
 
-           auth.setProfileCreated(false);
-           changeUserStatus(userId, false);
-           authRepo.save(auth);
+            changeUserStatus(auth.getId(), false);
+
+            // Re-read: the copy loaded above still holds the old status and auth version
+            UserAuth deactivated = authCache.findById(auth.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND));
+            deactivated.setProfileCreated(false);
+            authCache.save(deactivated);
+            authVersions.update(deactivated);
 
 
-            actionAuditService.logAction(
+            actionAuditService.logChange(
                     ActionType.USER_DELETE,
-                    ActionStatus.SUCCESS,
                     auth.getEmail(),
                     auth.getId(),
                     beforeState,
-                    "DELETED",
+                    null,
                     "User profile deleted"
             );
 
@@ -0,0 +1,57 @@
+package com.example.registration.service;
+
+import com.example.registration.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque page position for the keyset-paginated audit listings: the
+ * (time, id) of the last row returned, packed into 20 bytes and URL-safe
+ * Base64 encoded.
+ */
+final class AuditCursor {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final Instant time;
+    private final long id;
+
+    AuditCursor(Instant time, long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    Instant getTime() { return time; }
+    long getId() { return id; }
+
+    String encode() {
+
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(time.getEpochSecond())
+                .putInt(time.getNano())
+                .putLong(id);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static AuditCursor decode(String cursor) {
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != LENGTH) {
+                throw new IllegalArgumentException("Unexpected cursor length");
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Instant time = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+
+            return new AuditCursor(time, buffer.getLong());
+
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
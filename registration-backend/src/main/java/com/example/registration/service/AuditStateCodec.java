@@ -0,0 +1,221 @@
+package com.example.registration.service;
+
+import com.example.registration.entity.User;
+import com.example.registration.entity.UserAuth;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshots of User and UserAuth for action_audit, stored as field diffs.
+ *
+ * A snapshot is an ordered map of the fields worth auditing; passwords and
+ * internal counters are never part of it. For an update, before_state holds
+ * the old values of the changed fields and after_state their new values.
+ * Creation stores only after_state, deletion only before_state, each with
+ * the full snapshot. States longer than compress-threshold bytes are stored
+ * gzip-compressed and Base64-encoded behind a "gz:" prefix.
+ *
+ * Rows written before this format hold free text (toString output, "true",
+ * a role name); readers pass those through untouched.
+ */
+@Component
+public class AuditStateCodec {
+
+    private static final String GZIP_PREFIX = "gz:";
+
+    private final JsonMapper jsonMapper;
+    private final int compressThreshold;
+
+    public AuditStateCodec(
+            JsonMapper jsonMapper,
+            @Value("${audit.action.state.compress-threshold:1024}") int compressThreshold) {
+
+        this.jsonMapper = jsonMapper;
+        this.compressThreshold = compressThreshold;
+    }
+
+    // =====================================================
+    // 📸 SNAPSHOTS
+    // =====================================================
+
+    public static Map<String, Object> snapshot(User user) {
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("id", user.getId());
+        state.put("emailId", user.getEmailId());
+        state.put("name", user.getName());
+        state.put("age", user.getAge());
+        state.put("gender", user.getGender());
+        state.put("dob", user.getDob() != null ? user.getDob().toString() : null);
+        state.put("phone", user.getPhone());
+        state.put("address", user.getAddress());
+        state.put("qualification", user.getQualification());
+        state.put("languages", user.getLanguages());
+        state.put("authId", user.getAuth() != null ? user.getAuth().getId() : null);
+        return state;
+    }
+
+    public static Map<String, Object> snapshot(UserAuth auth) {
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("id", auth.getId());
+        state.put("email", auth.getEmail());
+        state.put("role", auth.getRole() != null ? auth.getRole().name() : null);
+        state.put("active", auth.isActive());
+        state.put("profileCreated", auth.isProfileCreated());
+        return state;
+    }
+
+    // =====================================================
+    // ✍️ WRITE
+    // =====================================================
+
+    /**
+     * Encoded before and after states for a change from {@code before} to
+     * {@code after}, either of which is null for creation or deletion.
+     */
+    String[] encodeChange(Map<String, Object> before, Map<String, Object> after) {
+
+        if (before == null || after == null) {
+            return new String[] { encode(withoutNulls(before)), encode(withoutNulls(after)) };
+        }
+
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Object> entry : after.entrySet()) {
+            Object previous = before.get(entry.getKey());
+            if (!Objects.equals(previous, entry.getValue())) {
+                oldValues.put(entry.getKey(), previous);
+                newValues.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return new String[] { encode(oldValues), encode(newValues) };
+    }
+
+    private String encode(Map<String, Object> state) {
+
+        if (state == null) {
+            return null;
+        }
+
+        String json = jsonMapper.writeValueAsString(state);
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+
+        if (raw.length <= compressThreshold) {
+            return json;
+        }
+
+        String compressed = GZIP_PREFIX + Base64.getEncoder().encodeToString(gzip(raw));
+
+        return compressed.length() < json.length() ? compressed : json;
+    }
+
+    private static Map<String, Object> withoutNulls(Map<String, Object> state) {
+
+        if (state == null) {
+            return null;
+        }
+
+        Map<String, Object> present = new LinkedHashMap<>();
+        state.forEach((field, value) -> {
+            if (value != null) {
+                present.put(field, value);
+            }
+        });
+        return present;
+    }
+
+    // =====================================================
+    // 📖 READ
+    // =====================================================
+
+    /**
+     * The stored state as readable text: JSON for diffs, decompressed if
+     * needed, and legacy free text as it was stored.
+     */
+    public String toText(String stored) {
+
+        if (stored == null || !stored.startsWith(GZIP_PREFIX)) {
+            return stored;
+        }
+
+        try {
+            byte[] packed = Base64.getDecoder().decode(stored.substring(GZIP_PREFIX.length()));
+            return new String(gunzip(packed), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException | UncheckedIOException ex) {
+            return stored;
+        }
+    }
+
+    /**
+     * The stored state as a field map, or null when it is absent or not in
+     * the diff format.
+     */
+    public Map<String, Object> toMap(String stored) {
+
+        String text = toText(stored);
+        if (text == null || !text.startsWith("{")) {
+            return null;
+        }
+
+        try {
+            JsonNode node = jsonMapper.readTree(text);
+            if (!node.isObject()) {
+                return null;
+            }
+
+            Map<String, Object> state = new LinkedHashMap<>();
+            node.properties().forEach(field -> state.put(
+                    field.getKey(),
+                    jsonMapper.treeToValue(field.getValue(), Object.class)
+            ));
+            return state;
+
+        } catch (JacksonException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * True when the value was written in the diff format, or is absent.
+     */
+    public boolean isStructured(String stored) {
+        return stored == null || toMap(stored) != null;
+    }
+
+    private static byte[] gzip(byte[] raw) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] packed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(packed))) {
+            return gzip.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
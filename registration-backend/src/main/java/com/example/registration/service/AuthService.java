@@ -1,5 +1,6 @@
 package com.example.registration.service;
 
+import com.example.registration.cache.UserAuthCache;
 import com.example.registration.dto.*;
 import com.example.registration.entity.UserAuth;
 import com.example.registration.enums.LoginReason;
@@ -7,30 +8,35 @@ import com.example.registration.enums.Roles;
 import com.example.registration.exception.BadRequestException;
 import com.example.registration.exception.ResourceNotFoundException;
 import com.example.registration.logging.BaseLogger;
-import com.example.registration.repository.UserAuthRepository;
 import com.example.registration.config.JwtUtil;
+import com.example.registration.security.AuthVersionRegistry;
+import com.example.registration.security.PasswordHashingService;
+import com.example.registration.security.VerifiedToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.concurrent.Future;
 
 @Service
 public class AuthService extends BaseLogger {
 
-    private final UserAuthRepository authRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final UserAuthCache authCache;
+    private final PasswordHashingService passwordHasher;
     private final JwtUtil jwtUtil;
     private final LoginAuditService loginAuditService;
+    private final AuthVersionRegistry authVersions;
 
-    public AuthService(UserAuthRepository authRepo,
-                       PasswordEncoder passwordEncoder,
+    public AuthService(UserAuthCache authCache,
+                       PasswordHashingService passwordHasher,
                        JwtUtil jwtUtil,
-                       LoginAuditService loginAuditService) {
-        this.authRepo = authRepo;
-        this.passwordEncoder = passwordEncoder;
+                       LoginAuditService loginAuditService,
+                       AuthVersionRegistry authVersions) {
+        this.authCache = authCache;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
         this.loginAuditService = loginAuditService;
+        this.authVersions = authVersions;
     }
 
     // =====================================================
@@ -39,25 +45,29 @@ public class AuthService extends BaseLogger {
 
     public LoginResponse login(LoginRequest request) {
 
+        long startedAt = System.nanoTime();
+
         log.info("Login attempt for email={}", request.getEmail());
 
-        UserAuth auth = authRepo.findByEmail(request.getEmail())
+        UserAuth auth = authCache.findByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     log.warn("Login failed - email not found email={}", request.getEmail());
                     loginAuditService.recordFailure(
                             request.getEmail(),
-                            LoginReason.EMAIL_NOT_FOUND
+                            LoginReason.EMAIL_NOT_FOUND,
+                            startedAt
                     );
                     return new BadRequestException("Invalid email");
                 });
 
-        if (!passwordEncoder.matches(request.getPassword(), auth.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), auth.getPassword())) {
 
             log.warn("Login failed - invalid password email={}", request.getEmail());
 
             loginAuditService.recordFailure(
                     request.getEmail(),
-                    LoginReason.INVALID_PASSWORD
+                    LoginReason.INVALID_PASSWORD,
+                    startedAt
             );
             throw new BadRequestException("Invalid password");
         }
@@ -68,42 +78,67 @@ public class AuthService extends BaseLogger {
 
             loginAuditService.recordFailure(
                     request.getEmail(),
-                    LoginReason.USER_DISABLED
+                    LoginReason.USER_DISABLED,
+                    startedAt
             );
             throw new BadRequestException("Account is disabled");
         }
 
-        String token = jwtUtil.generateToken(
+        rehashIfOutdated(auth, request.getPassword());
+
+        VerifiedToken token = jwtUtil.issue(
                 auth.getEmail(),
-                auth.getRole()
+                auth.getRole(),
+                auth.getAuthVersion()
         );
 
         Instant loginTime = Instant.now();
 
-        loginAuditService.recordLogin(
-                auth,
-                token,
-                jwtUtil.extractIssuedAt(token).toInstant(),
-                jwtUtil.extractExpiration(token).toInstant()
-        );
-
+        // Read history before this login is queued for writing
         LoginAlertDTO loginAlert =
                 loginAuditService.buildLoginAlert(
-                        auth.getEmail(),
+                        auth,
                         loginTime
                 );
 
+        loginAuditService.recordLogin(auth, token, startedAt);
+
         log.info("Login successful for email={} role={}",
                 auth.getEmail(), auth.getRole());
 
         return new LoginResponse(
-                token,
+                token.getToken(),
                 auth.getRole(),
                 auth.isProfileCreated(),
                 loginAlert
         );
     }
 
+    /**
+     * Brings the stored hash to the current bcrypt cost while the raw password
+     * is at hand. Runs off the request thread and leaves authVersion alone, the
+     * password itself did not change so existing tokens stay valid.
+     */
+    private void rehashIfOutdated(UserAuth auth, String rawPassword) {
+
+        if (!passwordHasher.needsRehash(auth.getPassword())) {
+            return;
+        }
+
+        Long id = auth.getId();
+        String previousHash = auth.getPassword();
+
+        passwordHasher.encodeInBackground(rawPassword, rehashed -> {
+            // Only the password column, and only if it was not changed while we were hashing;
+            // role, active and authVersion may have been updated meanwhile and must survive
+            if (authCache.updatePasswordIfUnchanged(id, previousHash, rehashed)) {
+                log.info("Password rehashed to current cost authId={}", id);
+            } else {
+                log.debug("Password rehash skipped, password changed meanwhile authId={}", id);
+            }
+        });
+    }
+
     // =====================================================
     // 📝 REGISTER
     // =====================================================
@@ -112,21 +147,21 @@ public class AuthService extends BaseLogger {
 
         log.info("Registration attempt for email={}", request.getEmail());
 
-        if (authRepo.findByEmail(request.getEmail()).isPresent()) {
+        if (authCache.findByEmail(request.getEmail()).isPresent()) {
             log.warn("Registration failed - email already exists email={}", request.getEmail());
             throw new BadRequestException("Email already registered");
         }
 
         UserAuth auth = new UserAuth();
         auth.setEmail(request.getEmail());
-        auth.setPassword(passwordEncoder.encode(request.getPassword()));
+        auth.setPassword(passwordHasher.encode(request.getPassword()));
         auth.setRole(
                 request.getRole() != null ? request.getRole() : Roles.USER
         );
         auth.setProfileCreated(false);
         auth.setActive(true);
 
-        UserAuth saved = authRepo.save(auth);
+        UserAuth saved = authCache.save(auth);
 
         log.info("Registration successful email={} role={}",
                 saved.getEmail(), saved.getRole());
@@ -155,13 +190,22 @@ public class AuthService extends BaseLogger {
 
         log.info("Password change attempt email={} role={}", email, role);
 
-        UserAuth auth = authRepo.findByEmail(email)
+        UserAuth auth = authCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        if (!passwordEncoder.matches(
+        // Both checks are independent, let them hash in parallel
+        Future<Boolean> currentMatches = passwordHasher.submitMatches(
                 request.getCurrentPassword(),
                 auth.getPassword()
-        )) {
+        );
+        Future<Boolean> newMatches = passwordHasher.submitMatches(
+                request.getNewPassword(),
+                auth.getPassword()
+        );
+
+        if (!passwordHasher.await(currentMatches)) {
+
+            newMatches.cancel(false);
 
             log.warn("Password change failed - invalid current password email={}", email);
 
@@ -174,10 +218,7 @@ public class AuthService extends BaseLogger {
             throw new BadRequestException("Current password is incorrect");
         }
 
-        if (passwordEncoder.matches(
-                request.getNewPassword(),
-                auth.getPassword()
-        )) {
+        if (passwordHasher.await(newMatches)) {
 
             log.warn("Password change failed - password reuse email={}", email);
 
@@ -191,10 +232,12 @@ public class AuthService extends BaseLogger {
         }
 
         auth.setPassword(
-                passwordEncoder.encode(request.getNewPassword())
+                passwordHasher.encode(request.getNewPassword())
         );
+        auth.bumpAuthVersion();
 
-        authRepo.save(auth);
+        authCache.save(auth);
+        authVersions.update(auth);
 
         loginAuditService.recordPasswordChange(
                 email,
@@ -0,0 +1,45 @@
+package com.example.registration.service;
+
+import com.example.registration.enums.LoginReason;
+import com.example.registration.enums.LoginType;
+
+import java.time.Instant;
+
+/**
+ * A login_audit row waiting in LoginAuditWriter's queue. Holds plain values
+ * only, no entities, so it can outlive the request and be spilled to disk.
+ */
+final class LoginAuditEvent {
+
+    final String email;
+    final Long userAuthId;
+    final String role;
+    final Instant eventTime;
+    final LoginType loginType;
+    final LoginReason reason;
+    final byte[] jwtTokenHash;
+    final Instant jwtIssuedAt;
+    final Instant jwtExpiresAt;
+
+    LoginAuditEvent(
+            String email,
+            Long userAuthId,
+            String role,
+            Instant eventTime,
+            LoginType loginType,
+            LoginReason reason,
+            byte[] jwtTokenHash,
+            Instant jwtIssuedAt,
+            Instant jwtExpiresAt
+    ) {
+        this.email = email;
+        this.userAuthId = userAuthId;
+        this.role = role;
+        this.eventTime = eventTime;
+        this.loginType = loginType;
+        this.reason = reason;
+        this.jwtTokenHash = jwtTokenHash;
+        this.jwtIssuedAt = jwtIssuedAt;
+        this.jwtExpiresAt = jwtExpiresAt;
+    }
+}
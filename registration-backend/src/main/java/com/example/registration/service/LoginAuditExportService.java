@@ -0,0 +1,350 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.LoginAuditFilter;
+import com.example.registration.enums.ExportFormat;
+import com.example.registration.exception.BadRequestException;
+import com.example.registration.exception.ServiceUnavailableException;
+import com.example.registration.logging.BaseLogger;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams login_audit rows straight from the database to the response.
+ *
+ * Rows come from a forward-only, read-only JDBC cursor and are written as
+ * they are read, so neither the heap nor a persistence context grows with
+ * the size of the export. With MySQL Connector/J a fetch size of
+ * Integer.MIN_VALUE switches the driver to row-by-row streaming. Each running
+ * export pins one pooled connection, so only a few may run at a time.
+ */
+@Service
+public class LoginAuditExportService extends BaseLogger {
+
+    private static final String[] COLUMNS = {
+            "id", "userAuthId", "email", "role", "eventTime",
+            "loginType", "reason", "jwtIssuedAt", "jwtExpiresAt"
+    };
+
+    private static final String SELECT_SQL = """
+            SELECT id, user_auth_id, email, role, event_time, login_type,
+                   login_reason, jwt_issued_at, jwt_expires_at
+            FROM login_audit
+            """;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String PERMIT_INTERCEPTOR_KEY = LoginAuditExportService.class.getName() + ".permit";
+
+    private final JdbcTemplate streamingJdbc;
+    private final JsonMapper jsonMapper;
+    private final Semaphore permits;
+
+    public LoginAuditExportService(
+            DataSource dataSource,
+            JsonMapper jsonMapper,
+            @Value("${audit.login.export.fetch-size:-2147483648}") int fetchSize,
+            @Value("${audit.login.export.max-concurrent:2}") int maxConcurrent) {
+
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(fetchSize);
+        this.jsonMapper = jsonMapper;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserves an export slot and returns the body that performs the export.
+     * The slot is released when the body finishes, successfully or not.
+     */
+    public StreamingResponseBody export(
+            LoginAuditFilter filter,
+            ExportFormat format,
+            boolean gzip,
+            HttpServletRequest request) {
+
+        if (filter.getFrom() != null && filter.getTo() != null
+                && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+
+        if (!permits.tryAcquire()) {
+            log.warn("Login audit export rejected - {} exports already running",
+                    permits.availablePermits());
+            throw new ServiceUnavailableException("Too many exports running, please retry later");
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        // The body may never run when the async request times out or fails first,
+        // the completion callback then gives the slot back
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+                PERMIT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        release.run();
+                    }
+                }
+        );
+
+        return out -> {
+            try {
+                write(filter, format, gzip, out);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private void write(LoginAuditFilter filter, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+
+        long startedAt = System.nanoTime();
+
+        List<Object> args = new ArrayList<>();
+        String sql = buildQuery(filter, args);
+
+        OutputStream target = gzip
+                ? new GZIPOutputStream(out, BUFFER_BYTES)
+                : new BufferedOutputStream(out, BUFFER_BYTES);
+
+        Writer writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
+        RowSink sink = format == ExportFormat.CSV
+                ? new CsvSink(writer)
+                : new NdjsonSink(jsonMapper.writer()
+                        .withRootValueSeparator("\n")
+                        .createGenerator(writer));
+
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        long[] rows = {0};
+
+        try {
+            sink.start();
+
+            streamingJdbc.query(sql, ps -> bind(ps, args, utc), rs -> {
+                try {
+                    sink.row(rs, utc);
+                    rows[0]++;
+                } catch (IOException ex) {
+                    // Client went away, abort the query instead of reading on
+                    throw new UncheckedIOException(ex);
+                }
+            });
+
+            sink.finish();
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            target.flush();
+
+        } catch (UncheckedIOException ex) {
+            log.warn("Login audit export aborted after rows={}: {}", rows[0], ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+
+        log.info("Login audit export finished format={} gzip={} rows={} tookMs={}",
+                format, gzip, rows[0], (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static String buildQuery(LoginAuditFilter filter, List<Object> args) {
+
+        List<String> where = new ArrayList<>();
+
+        if (filter.getEmail() != null) {
+            where.add("email = ?");
+            args.add(filter.getEmail());
+        }
+        if (filter.getLoginType() != null) {
+            where.add("login_type = ?");
+            args.add(filter.getLoginType().name());
+        }
+        if (filter.getReason() != null) {
+            where.add("login_reason = ?");
+            args.add(filter.getReason().name());
+        }
+        if (filter.getFrom() != null) {
+            where.add("event_time >= ?");
+            args.add(filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            where.add("event_time < ?");
+            args.add(filter.getTo());
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (!where.isEmpty()) {
+            sql.append("WHERE ").append(String.join(" AND ", where)).append('\n');
+        }
+        return sql.append("ORDER BY event_time, id").toString();
+    }
+
+    /**
+     * Instants go through the same UTC calendar the writer stores event_time
+     * with, so the window does not shift with the JVM time zone.
+     */
+    private static void bind(PreparedStatement ps, List<Object> args, Calendar utc) throws SQLException {
+        for (int i = 0; i < args.size(); i++) {
+            if (args.get(i) instanceof Instant value) {
+                LoginAuditWriter.setInstant(ps, i + 1, value, utc);
+            } else {
+                ps.setObject(i + 1, args.get(i));
+            }
+        }
+    }
+
+    private static String instant(ResultSet rs, int column, Calendar utc) throws SQLException {
+        Timestamp value = rs.getTimestamp(column, utc);
+        return value == null ? null : value.toInstant().toString();
+    }
+
+    // =====================================================
+    // 📄 ROW FORMATS
+    // =====================================================
+
+    private interface RowSink {
+        void start() throws IOException;
+        void row(ResultSet rs, Calendar utc) throws SQLException, IOException;
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonSink implements RowSink {
+
+        private final JsonGenerator json;
+        private boolean empty = true;
+
+        NdjsonSink(JsonGenerator json) {
+            this.json = json;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void row(ResultSet rs, Calendar utc) throws SQLException {
+
+            long userAuthId = rs.getLong(2);
+            boolean hasUser = !rs.wasNull();
+
+            json.writeStartObject();
+            json.writeNumberProperty(COLUMNS[0], rs.getLong(1));
+            if (hasUser) {
+                json.writeNumberProperty(COLUMNS[1], userAuthId);
+            } else {
+                json.writeNullProperty(COLUMNS[1]);
+            }
+            json.writeStringProperty(COLUMNS[2], rs.getString(3));
+            json.writeStringProperty(COLUMNS[3], rs.getString(4));
+            json.writeStringProperty(COLUMNS[4], instant(rs, 5, utc));
+            json.writeStringProperty(COLUMNS[5], rs.getString(6));
+            json.writeStringProperty(COLUMNS[6], rs.getString(7));
+            json.writeStringProperty(COLUMNS[7], instant(rs, 8, utc));
+            json.writeStringProperty(COLUMNS[8], instant(rs, 9, utc));
+            json.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void finish() {
+            // The generator separates root values, the last line still needs its newline
+            if (!empty) {
+                json.writeRaw('\n');
+            }
+            json.flush();
+        }
+    }
+
+    private static final class CsvSink implements RowSink {
+
+        private final Writer out;
+
+        CsvSink(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start() throws IOException {
+            out.write(String.join(",", COLUMNS));
+            out.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs, Calendar utc) throws SQLException, IOException {
+            out.write(Long.toString(rs.getLong(1)));
+            out.write(',');
+            long userAuthId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                out.write(Long.toString(userAuthId));
+            }
+            field(rs.getString(3));
+            field(rs.getString(4));
+            field(instant(rs, 5, utc));
+            field(rs.getString(6));
+            field(rs.getString(7));
+            field(instant(rs, 8, utc));
+            field(instant(rs, 9, utc));
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void field(String value) throws IOException {
+
+            out.write(',');
+            if (value == null) {
+                return;
+            }
+
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+}
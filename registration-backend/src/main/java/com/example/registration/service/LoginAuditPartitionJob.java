@@ -0,0 +1,234 @@
+package com.example.registration.service;
+
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the monthly partitions of login_audit.
+ *
+ * Keeps a few empty months ready ahead of time by splitting the catch-all
+ * pmax partition while it is still empty, and retires months older than
+ * the retention window: their rows are summarised into login_audit_daily,
+ * then the partition is dropped, which costs the same whatever its size.
+ *
+ * The rollup replaces rather than adds to existing daily rows, and a day
+ * never spans two partitions, so a run interrupted between rollup and drop
+ * is simply repeated. A MySQL named lock keeps nodes from running it at
+ * the same time.
+ */
+@Component
+public class LoginAuditPartitionJob extends BaseLogger {
+
+    private static final String LOCK_NAME = "login_audit_partition_job";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT PARTITION_NAME, PARTITION_DESCRIPTION
+            FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE()
+              AND TABLE_NAME = 'login_audit'
+              AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """;
+
+    private static final String ROLLUP_SQL = """
+            INSERT INTO login_audit_daily (day, role, login_type, login_reason, event_count)
+            SELECT DATE(event_time), COALESCE(role, ''), login_type, COALESCE(login_reason, ''), COUNT(*)
+            FROM login_audit PARTITION (%s)
+            GROUP BY DATE(event_time), COALESCE(role, ''), login_type, COALESCE(login_reason, '')
+            ON DUPLICATE KEY UPDATE event_count = VALUES(event_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int dailyRetentionMonths;
+    private final int monthsAhead;
+
+    public LoginAuditPartitionJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${audit.login.retention.enabled:true}") boolean enabled,
+            @Value("${audit.login.retention.months:12}") int retentionMonths,
+            @Value("${audit.login.retention.daily-months:0}") int dailyRetentionMonths,
+            @Value("${audit.login.retention.months-ahead:3}") int monthsAhead) {
+
+        if (retentionMonths < 1) {
+            // Active sessions and the revocation list are rebuilt from recent rows
+            throw new IllegalArgumentException("audit.login.retention.months must be at least 1");
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+        this.dailyRetentionMonths = dailyRetentionMonths;
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+
+        if (!enabled) {
+            return;
+        }
+
+        Thread.ofPlatform()
+                .name("login-audit-partitions")
+                .daemon(true)
+                .start(this::maintain);
+    }
+
+    @Scheduled(cron = "${audit.login.retention.cron:0 15 3 * * *}", zone = "UTC")
+    public void scheduledMaintain() {
+        if (enabled) {
+            maintain();
+        }
+    }
+
+    public void maintain() {
+
+        try {
+            // Named locks belong to a session, so lock, work and unlock on one connection
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+
+                JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+                Integer locked = session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+                if (locked == null || locked != 1) {
+                    log.info("Login audit partition maintenance skipped - running on another node");
+                    return null;
+                }
+
+                try {
+                    maintain(session);
+                } finally {
+                    session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+                }
+                return null;
+            });
+
+        } catch (DataAccessException ex) {
+            log.error("Login audit partition maintenance failed", ex);
+        }
+    }
+
+    private void maintain(JdbcTemplate session) {
+
+        List<Partition> partitions = session.query(PARTITIONS_SQL, (rs, i) -> new Partition(
+                rs.getString(1),
+                parseUpperBound(rs.getString(2))
+        ));
+
+        if (partitions.isEmpty()) {
+            log.warn("login_audit is not partitioned, retention skipped");
+            return;
+        }
+
+        LocalDate currentMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+
+        addMonthsAhead(session, partitions, currentMonth);
+        retireExpired(session, partitions, currentMonth.minusMonths(retentionMonths));
+
+        if (dailyRetentionMonths > 0) {
+            int removed = session.update(
+                    "DELETE FROM login_audit_daily WHERE day < ?",
+                    currentMonth.minusMonths(dailyRetentionMonths)
+            );
+            log.info("Login audit daily rollup purged rows={}", removed);
+        }
+    }
+
+    private void addMonthsAhead(JdbcTemplate session, List<Partition> partitions, LocalDate currentMonth) {
+
+        LocalDate target = currentMonth.plusMonths(monthsAhead + 1L);
+        LocalDate covered = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(currentMonth);
+
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate month = covered; month.isBefore(target); month = month.plusMonths(1)) {
+            definitions.add("PARTITION p" + month.format(PARTITION_SUFFIX)
+                    + " VALUES LESS THAN ('" + month.plusMonths(1) + "')");
+        }
+
+        if (definitions.isEmpty()) {
+            return;
+        }
+
+        boolean hasMax = partitions.stream().anyMatch(p -> p.upperBound() == null);
+        String sql = hasMax
+                ? "ALTER TABLE login_audit REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                        + String.join(", ", definitions)
+                        + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))"
+                : "ALTER TABLE login_audit ADD PARTITION (" + String.join(", ", definitions) + ")";
+
+        session.execute(sql);
+
+        log.info("Login audit partitions added count={} until={}", definitions.size(), target);
+    }
+
+    private void retireExpired(JdbcTemplate session, List<Partition> partitions, LocalDate cutoff) {
+
+        for (Partition partition : partitions) {
+
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+
+            long started = System.nanoTime();
+
+            int rolledUp = session.update(ROLLUP_SQL.formatted(partition.name()));
+            session.execute("ALTER TABLE login_audit DROP PARTITION " + partition.name());
+
+            log.info("Login audit partition retired name={} before={} dailyRows={} tookMs={}",
+                    partition.name(), partition.upperBound(), rolledUp,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * RANGE COLUMNS bounds come back quoted, e.g. '2026-11-01' or
+     * '2026-11-01 00:00:00'; MAXVALUE has no bound.
+     */
+    static LocalDate parseUpperBound(String description) {
+
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+
+        String value = description.replace("'", "").trim();
+
+        return LocalDate.parse(value.substring(0, 10));
+    }
+
+    private static final class Partition {
+
+        private final String name;
+        private final LocalDate upperBound;
+
+        Partition(String name, LocalDate upperBound) {
+            this.name = name;
+            this.upperBound = upperBound;
+        }
+
+        String name() { return name; }
+        LocalDate upperBound() { return upperBound; }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.registration.service;
 
 import com.example.registration.dto.LoginAlertDTO;
-import com.example.registration.entity.LoginAudit;
+import com.example.registration.dto.LoginAuditFilter;
+import com.example.registration.dto.LoginAuditPageResponse;
+import com.example.registration.dto.LoginAuditResponse;
+import com.example.registration.entity.LoginSummary;
 import com.example.registration.entity.UserAuth;
 import com.example.registration.enums.LoginAlertType;
 import com.example.registration.enums.LoginReason;
@@ -9,7 +12,9 @@ import com.example.registration.enums.LoginType;
 import com.example.registration.exception.BadRequestException;
 import com.example.registration.logging.BaseLogger;
 import com.example.registration.repository.LoginAuditRepository;
-import com.example.registration.security.JwtHashUtil;
+import com.example.registration.repository.LoginSummaryRepository;
+import com.example.registration.security.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -21,32 +26,62 @@ import java.util.List;
 public class LoginAuditService extends BaseLogger {
 
     private final LoginAuditRepository loginAuditRepository;
+    private final LoginSummaryRepository loginSummaryRepository;
+    private final LoginAuditWriter auditWriter;
+    private final LoginTelemetryService telemetry;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public LoginAuditService(
+            LoginAuditRepository loginAuditRepository,
+            LoginSummaryRepository loginSummaryRepository,
+            LoginAuditWriter auditWriter,
+            LoginTelemetryService telemetry,
+            @Value("${audit.login.page.default-size:50}") int defaultPageSize,
+            @Value("${audit.login.page.max-size:500}") int maxPageSize) {
 
-    public LoginAuditService(LoginAuditRepository loginAuditRepository) {
         this.loginAuditRepository = loginAuditRepository;
+        this.loginSummaryRepository = loginSummaryRepository;
+        this.auditWriter = auditWriter;
+        this.telemetry = telemetry;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
-    public List<LoginAudit> getAllAudits() {
+    /**
+     * One page of the audit log, newest first. Paging is keyset based on
+     * (eventTime, id), so every page costs the same index range read no
+     * matter how deep the caller has scrolled.
+     */
+    public LoginAuditPageResponse getAudits(LoginAuditFilter filter, String cursor, Integer size) {
 
-        log.info("Login audit list requested");
+        log.info("Login audit page requested email={} type={} reason={}",
+                filter.getEmail(), filter.getLoginType(), filter.getReason());
 
-        return loginAuditRepository.findAll();
+        return readPage(filter, cursor, size);
     }
 
-    public void recordLogin(UserAuth user, String jwt, Instant issuedAt, Instant expiresAt) {
+    /**
+     * @param startedAt System.nanoTime() when the attempt began, for the
+     *                  login latency telemetry
+     */
+    public void recordLogin(UserAuth user, VerifiedToken token, long startedAt) {
+
+        telemetry.record(LoginType.LOGIN, LoginReason.LOGIN_SUCCESS, user.getRole().name(),
+                System.nanoTime() - startedAt);
+
         try {
-            LoginAudit audit = new LoginAudit();
-            audit.setEmail(user.getEmail());
-            audit.setUserAuth(user);
-            audit.setRole(user.getRole().name());
-            audit.setEventTime(Instant.now());
-            audit.setLoginType(LoginType.LOGIN);
-            audit.setReason(LoginReason.LOGIN_SUCCESS);
-            audit.setJwtTokenHash(JwtHashUtil.hash(jwt));
-            audit.setJwtIssuedAt(issuedAt);
-            audit.setJwtExpiresAt(expiresAt);
-
-            loginAuditRepository.save(audit);
+            auditWriter.enqueue(new LoginAuditEvent(
+                    user.getEmail(),
+                    user.getId(),
+                    user.getRole().name(),
+                    Instant.now(),
+                    LoginType.LOGIN,
+                    LoginReason.LOGIN_SUCCESS,
+                    token.getTokenHash(),
+                    token.getIssuedAt(),
+                    token.getExpiresAt()
+            ));
 
             log.info("Login audit recorded email={} role={}", user.getEmail(), user.getRole());
 
@@ -56,20 +91,22 @@ public class LoginAuditService extends BaseLogger {
         }
     }
 
-    public void recordLogout(UserAuth user, String jwt, Instant issuedAt, Instant expiresAt) {
+    public void recordLogout(UserAuth user, VerifiedToken token) {
+
+        telemetry.record(LoginType.LOGOUT, LoginReason.USER_LOGOUT, user.getRole().name(), -1);
+
         try {
-            LoginAudit audit = new LoginAudit();
-            audit.setEmail(user.getEmail());
-            audit.setUserAuth(user);
-            audit.setRole(user.getRole().name());
-            audit.setEventTime(Instant.now());
-            audit.setLoginType(LoginType.LOGOUT);
-            audit.setReason(LoginReason.USER_LOGOUT);
-            audit.setJwtTokenHash(JwtHashUtil.hash(jwt));
-            audit.setJwtIssuedAt(issuedAt);
-            audit.setJwtExpiresAt(expiresAt);
-
-            loginAuditRepository.save(audit);
+            auditWriter.enqueue(new LoginAuditEvent(
+                    user.getEmail(),
+                    user.getId(),
+                    user.getRole().name(),
+                    Instant.now(),
+                    LoginType.LOGOUT,
+                    LoginReason.USER_LOGOUT,
+                    token.getTokenHash(),
+                    token.getIssuedAt(),
+                    token.getExpiresAt()
+            ));
 
             log.info("Logout audit recorded email={}", user.getEmail());
 
@@ -78,15 +115,22 @@ public class LoginAuditService extends BaseLogger {
         }
     }
 
-    public void recordFailure(String email, LoginReason reason) {
-        try {
-            LoginAudit audit = new LoginAudit();
-            audit.setEmail(email);
-            audit.setEventTime(Instant.now());
-            audit.setLoginType(LoginType.FAILED);
-            audit.setReason(reason);
+    public void recordFailure(String email, LoginReason reason, long startedAt) {
 
-            loginAuditRepository.save(audit);
+        telemetry.record(LoginType.FAILED, reason, null, System.nanoTime() - startedAt);
+
+        try {
+            auditWriter.enqueue(new LoginAuditEvent(
+                    email,
+                    null,
+                    null,
+                    Instant.now(),
+                    LoginType.FAILED,
+                    reason,
+                    null,
+                    null,
+                    null
+            ));
 
             log.warn("Login failure recorded email={} reason={}", email, reason);
 
@@ -95,17 +139,18 @@ public class LoginAuditService extends BaseLogger {
         }
     }
 
-    public LoginAlertDTO buildLoginAlert(String email, Instant currentLoginTime) {
+    /**
+     * Must be called before the current LOGIN is recorded: audit rows are
+     * written asynchronously, so an empty summary means this is the first one.
+     */
+    public LoginAlertDTO buildLoginAlert(UserAuth user, Instant currentLoginTime) {
 
-        log.debug("Building login alert for email={}", email);
+        log.debug("Building login alert for email={}", user.getEmail());
 
-        List<LoginAudit> logins =
-                loginAuditRepository.findByEmailAndLoginTypeOrderByEventTimeAsc(
-                        email,
-                        LoginType.LOGIN
-                );
+        LoginSummary summary = loginSummaryRepository.findById(user.getId())
+                .orElse(null);
 
-        if (logins.size() == 1) {
+        if (summary == null || summary.getLoginCount() == 0) {
             return new LoginAlertDTO(
                     LoginAlertType.FIRST_LOGIN,
                     null,
@@ -113,35 +158,28 @@ public class LoginAuditService extends BaseLogger {
             );
         }
 
-        return loginAuditRepository
-                .findTopByEmailAndLoginTypeOrderByEventTimeDesc(
-                        email,
-                        LoginType.LOGOUT
-                )
-                .map(logout -> {
-                    Duration diff = Duration.between(
-                            logout.getEventTime(),
-                            currentLoginTime
-                    );
-
-                    String formattedDiff = formatDuration(diff);
-
-                    return new LoginAlertDTO(
-                            LoginAlertType.NORMAL,
-                            logout.getEventTime(),
-                            "Welcome back! You last logged out " + formattedDiff + " ."
-                    );
-                })
-                .orElseGet(() ->
-                        new LoginAlertDTO(
-                                LoginAlertType.SESSION_TIMEOUT,
-                                null,
-                                "Welcome back! Your last session ended without a proper logout."
-                        )
-                );
+        Instant lastLogout = summary.getLastLogoutAt();
+
+        if (lastLogout == null) {
+            return new LoginAlertDTO(
+                    LoginAlertType.SESSION_TIMEOUT,
+                    null,
+                    "Welcome back! Your last session ended without a proper logout."
+            );
+        }
+
+        String formattedDiff = formatDuration(
+                Duration.between(lastLogout, currentLoginTime)
+        );
+
+        return new LoginAlertDTO(
+                LoginAlertType.NORMAL,
+                lastLogout,
+                "Welcome back! You last logged out " + formattedDiff + " ."
+        );
     }
 
-    private String formatDuration(Duration duration) {
+    static String formatDuration(Duration duration) {
 
         long totalMinutes = duration.toMinutes();
 
@@ -166,7 +204,7 @@ public class LoginAuditService extends BaseLogger {
         return result.toString().trim();
     }
 
-    public List<LoginAudit> getCurrentUserAudit() {
+    public LoginAuditPageResponse getCurrentUserAudit(String cursor, Integer size) {
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth.getAuthorities().isEmpty()) {
@@ -177,7 +215,43 @@ public class LoginAuditService extends BaseLogger {
 
         log.info("User requested own login audit email={}", email);
 
-        return loginAuditRepository.findByEmail(email);
+        return readPage(LoginAuditFilter.forEmail(email), cursor, size);
+    }
+
+    private LoginAuditPageResponse readPage(LoginAuditFilter filter, String cursor, Integer size) {
+
+        if (filter.getFrom() != null && filter.getTo() != null
+                && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+
+        int limit = size == null
+                ? defaultPageSize
+                : Math.clamp(size, 1, maxPageSize);
+
+        AuditCursor after = cursor == null || cursor.isBlank()
+                ? null
+                : AuditCursor.decode(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        List<LoginAuditResponse> rows = loginAuditRepository.findPage(
+                filter,
+                after == null ? null : after.getTime(),
+                after == null ? null : after.getId(),
+                limit + 1
+        );
+
+        if (rows.size() <= limit) {
+            return new LoginAuditPageResponse(rows, null);
+        }
+
+        List<LoginAuditResponse> page = rows.subList(0, limit);
+        LoginAuditResponse last = page.get(limit - 1);
+
+        return new LoginAuditPageResponse(
+                List.copyOf(page),
+                new AuditCursor(last.getEventTime(), last.getId()).encode()
+        );
     }
 
     public void recordPasswordChange(
@@ -186,15 +260,21 @@ public class LoginAuditService extends BaseLogger {
             boolean success,
             LoginReason reason
     ) {
+
+        telemetry.record(LoginType.PASSWORD_CHANGED, reason, role, -1);
+
         try {
-            LoginAudit audit = new LoginAudit();
-            audit.setEmail(email);
-            audit.setRole(role);
-            audit.setLoginType(LoginType.PASSWORD_CHANGED);
-            audit.setEventTime(Instant.now());
-            audit.setReason(reason);
-
-            loginAuditRepository.save(audit);
+            auditWriter.enqueue(new LoginAuditEvent(
+                    email,
+                    null,
+                    role,
+                    Instant.now(),
+                    LoginType.PASSWORD_CHANGED,
+                    reason,
+                    null,
+                    null,
+                    null
+            ));
 
             if (success) {
                 log.info("Password change audit recorded email={}", email);
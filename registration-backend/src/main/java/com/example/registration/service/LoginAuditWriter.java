@@ -0,0 +1,580 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.AuditWriterStatsResponse;
+import com.example.registration.enums.AuditOverflowPolicy;
+import com.example.registration.enums.LoginReason;
+import com.example.registration.enums.LoginType;
+import com.example.registration.logging.BaseLogger;
+import com.example.registration.security.JwtHashUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes login_audit rows off the request thread.
+ *
+ * Events go into a bounded queue and a single background thread inserts
+ * them in JDBC batches, flushing when a batch is full or flush-interval-ms
+ * has passed since its first event. One batch is one transaction, which also
+ * folds the batch into login_summary; with rewriteBatchedStatements on the
+ * MySQL URL the audit rows go out as one multi-row INSERT.
+ *
+ * When the queue is full the configured AuditOverflowPolicy decides what
+ * gives. LOGOUT events are the exception: RevokedTokenRegistry rebuilds
+ * its denylist from them after a restart, so they skip the queue, are
+ * inserted on the calling thread and are spilled rather than dropped while
+ * the database is unavailable. A batch the database rejects is inserted
+ * row by row, so only the offending rows are lost. On shutdown the writer stops after the web server and drains the
+ * queue and any spill file before the DataSource goes away.
+ */
+@Component
+public class LoginAuditWriter extends BaseLogger implements SmartLifecycle {
+
+    static final String INSERT_SQL = """
+            INSERT INTO login_audit
+                (email, user_auth_id, role, event_time, login_type, login_reason,
+                 jwt_token_hash, jwt_issued_at, jwt_expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final LoginSummaryService summaryService;
+
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutMillis;
+    private final long drainTimeoutMillis;
+    private final Path spillFile;
+    private final Path replayFile;
+
+    private final BlockingQueue<LoginAuditEvent> queue;
+    private final Object spillLock = new Object();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Long::max, 0);
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public LoginAuditWriter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            JsonMapper jsonMapper,
+            LoginSummaryService summaryService,
+            @Value("${audit.login.overflow-policy:DROP_FAILURES_FIRST}") AuditOverflowPolicy overflowPolicy,
+            @Value("${audit.login.queue-capacity:10000}") int queueCapacity,
+            @Value("${audit.login.batch-size:200}") int batchSize,
+            @Value("${audit.login.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${audit.login.block-timeout-ms:100}") long blockTimeoutMillis,
+            @Value("${audit.login.drain-timeout-ms:30000}") long drainTimeoutMillis,
+            @Value("${audit.login.spill-file:audit-spill/login-audit.ndjson}") Path spillFile) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.summaryService = summaryService;
+        this.overflowPolicy = overflowPolicy;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        this.spillFile = spillFile.toAbsolutePath();
+        this.replayFile = this.spillFile.resolveSibling(this.spillFile.getFileName() + ".replaying");
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    // =====================================================
+    // 📥 ENQUEUE
+    // =====================================================
+
+    void enqueue(LoginAuditEvent event) {
+
+        enqueued.increment();
+
+        if (event.loginType == LoginType.LOGOUT) {
+            // A revocation must survive a restart, write it now instead of queueing it
+            flush(List.of(event));
+            return;
+        }
+
+        if (!running) {
+            // Before start or after stop there is no writer thread, keep the old behaviour
+            flush(List.of(event));
+            return;
+        }
+
+        if (queue.offer(event)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> offerOrDrop(event);
+
+            case DROP_FAILURES_FIRST -> {
+                if (event.loginType == LoginType.FAILED) {
+                    drop(1);
+                } else if (!(removeOneFailure() && queue.offer(event))) {
+                    offerOrDrop(event);
+                }
+            }
+
+            case SPILL -> spill(List.of(event));
+        }
+    }
+
+    private void offerOrDrop(LoginAuditEvent event) {
+        try {
+            if (!queue.offer(event, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                drop(1);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            drop(1);
+        }
+    }
+
+    private boolean removeOneFailure() {
+
+        Iterator<LoginAuditEvent> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next().loginType == LoginType.FAILED) {
+                it.remove();
+                drop(1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drop(int count) {
+        dropped.add(count);
+        log.warn("Login audit queue full - dropped events={} policy={}", count, overflowPolicy);
+    }
+
+    // =====================================================
+    // ✍️ BACKGROUND WRITER
+    // =====================================================
+
+    private void runWriter() {
+
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                LoginAuditEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+
+                batch.add(first);
+                fillBatch(batch, System.nanoTime() + flushIntervalNanos);
+                flush(batch);
+
+            } catch (InterruptedException ex) {
+                // Only stop() interrupts, and only after the drain timeout
+                Thread.currentThread().interrupt();
+                break;
+
+            } catch (RuntimeException ex) {
+                log.error("Login audit writer failed on a batch", ex);
+
+            } finally {
+                batch.clear();
+            }
+        }
+
+        replaySpill();
+
+        log.info("Login audit writer stopped written={} dropped={} leftInQueue={}",
+                written.sum(), dropped.sum(), queue.size());
+    }
+
+    private void fillBatch(List<LoginAuditEvent> batch, long deadline) throws InterruptedException {
+
+        while (batch.size() < batchSize) {
+
+            queue.drainTo(batch, batchSize - batch.size());
+
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+
+            LoginAuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Inserts a batch, retrying failures that may pass. When the database
+     * rejects the batch itself, its rows are inserted one by one so only
+     * the offending ones are lost.
+     */
+    private void flush(List<LoginAuditEvent> batch) {
+
+        RuntimeException failure = null;
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+
+            long start = System.nanoTime();
+
+            try {
+                insert(batch);
+
+                long elapsed = System.nanoTime() - start;
+                written.add(batch.size());
+                batches.increment();
+                flushNanos.add(elapsed);
+                maxFlushNanos.accumulate(elapsed);
+                return;
+
+            } catch (RuntimeException ex) {
+                failure = ex;
+                log.warn("Login audit batch insert failed attempt={} size={}", attempt, batch.size(), ex);
+
+                if (ex instanceof NonTransientDataAccessException) {
+                    // The same rows fail the same way on every attempt
+                    break;
+                }
+                if (attempt < MAX_ATTEMPTS && !pause(200L * attempt)) {
+                    break;
+                }
+            }
+        }
+
+        boolean rejected = failure instanceof NonTransientDataAccessException;
+
+        if (rejected && batch.size() > 1) {
+            insertEach(batch);
+        } else {
+            giveUp(batch, rejected);
+        }
+    }
+
+    private void insertEach(List<LoginAuditEvent> batch) {
+
+        for (LoginAuditEvent event : batch) {
+            try {
+                insert(List.of(event));
+                written.increment();
+
+            } catch (RuntimeException ex) {
+                log.warn("Login audit row insert failed email={} type={}", event.email, event.loginType, ex);
+                giveUp(List.of(event), ex instanceof NonTransientDataAccessException);
+            }
+        }
+    }
+
+    /**
+     * Spills what the policy keeps (LOGOUT events always) and drops the
+     * rest. Rows the database rejected are dropped either way, a replay
+     * would only fail again.
+     */
+    private void giveUp(List<LoginAuditEvent> events, boolean rejected) {
+
+        List<LoginAuditEvent> kept = rejected ? List.of()
+                : overflowPolicy == AuditOverflowPolicy.SPILL ? events
+                : events.stream().filter(event -> event.loginType == LoginType.LOGOUT).toList();
+
+        if (!kept.isEmpty()) {
+            spill(kept);
+        }
+
+        int lost = events.size() - kept.size();
+        if (lost > 0) {
+            dropped.add(lost);
+            log.error("Login audit events lost count={} rejectedByDatabase={}", lost, rejected);
+        }
+    }
+
+    private void insert(List<LoginAuditEvent> batch) {
+
+        Calendar utc = Calendar.getInstance(UTC);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(
+                    INSERT_SQL,
+                    batch,
+                    batch.size(),
+                    (ps, event) -> bind(ps, event, utc)
+            );
+            summaryService.applyBatch(batch);
+        });
+    }
+
+    private static void bind(PreparedStatement ps, LoginAuditEvent event, Calendar utc) throws SQLException {
+
+        ps.setString(1, event.email);
+        ps.setObject(2, event.userAuthId, Types.BIGINT);
+        ps.setString(3, event.role);
+        setInstant(ps, 4, event.eventTime, utc);
+        ps.setString(5, event.loginType != null ? event.loginType.name() : null);
+        ps.setString(6, event.reason != null ? event.reason.name() : null);
+        ps.setBytes(7, event.jwtTokenHash);
+        setInstant(ps, 8, event.jwtIssuedAt, utc);
+        setInstant(ps, 9, event.jwtExpiresAt, utc);
+    }
+
+    // Same binding Hibernate uses for Instant, so rows read back identically
+    static void setInstant(PreparedStatement ps, int index, Instant value, Calendar utc) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.from(value), utc);
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // =====================================================
+    // 💾 SPILL FILE
+    // =====================================================
+
+    private void spill(List<LoginAuditEvent> events) {
+
+        StringBuilder lines = new StringBuilder();
+        for (LoginAuditEvent event : events) {
+            lines.append(jsonMapper.writeValueAsString(toJson(event))).append('\n');
+        }
+
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillFile.getParent());
+                Files.writeString(spillFile, lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                spilled.add(events.size());
+
+            } catch (IOException ex) {
+                log.error("Could not spill login audit events to {}", spillFile, ex);
+                dropped.add(events.size());
+            }
+        }
+    }
+
+    /**
+     * Inserts spilled events once the queue has room again. The file is moved
+     * aside first so new overflow keeps appending to a fresh one. A crash in
+     * the middle of a replay can insert part of that file twice.
+     */
+    private void replaySpill() {
+
+        synchronized (spillLock) {
+            try {
+                if (Files.notExists(replayFile)) {
+                    if (Files.notExists(spillFile)) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException ex) {
+                log.error("Could not rotate login audit spill file {}", spillFile, ex);
+                return;
+            }
+        }
+
+        List<LoginAuditEvent> chunk = new ArrayList<>(batchSize);
+        long replayed = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(fromJson(jsonMapper.readTree(line)));
+
+                if (chunk.size() == batchSize) {
+                    flush(chunk);
+                    replayed += chunk.size();
+                    chunk.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                flush(chunk);
+                replayed += chunk.size();
+            }
+
+            Files.delete(replayFile);
+
+            log.info("Replayed spilled login audit events count={}", replayed);
+
+        } catch (IOException ex) {
+            log.error("Could not replay login audit spill file {}", replayFile, ex);
+        }
+    }
+
+    private static Map<String, Object> toJson(LoginAuditEvent event) {
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("email", event.email);
+        json.put("userAuthId", event.userAuthId);
+        json.put("role", event.role);
+        json.put("eventTime", event.eventTime != null ? event.eventTime.toString() : null);
+        json.put("loginType", event.loginType != null ? event.loginType.name() : null);
+        json.put("reason", event.reason != null ? event.reason.name() : null);
+        json.put("jwtTokenHash", event.jwtTokenHash != null ? JwtHashUtil.toHex(event.jwtTokenHash) : null);
+        json.put("jwtIssuedAt", event.jwtIssuedAt != null ? event.jwtIssuedAt.toString() : null);
+        json.put("jwtExpiresAt", event.jwtExpiresAt != null ? event.jwtExpiresAt.toString() : null);
+        return json;
+    }
+
+    private static LoginAuditEvent fromJson(JsonNode json) {
+
+        String userAuthId = text(json, "userAuthId");
+        String eventTime = text(json, "eventTime");
+        String loginType = text(json, "loginType");
+        String reason = text(json, "reason");
+        String hash = text(json, "jwtTokenHash");
+        String issuedAt = text(json, "jwtIssuedAt");
+        String expiresAt = text(json, "jwtExpiresAt");
+
+        return new LoginAuditEvent(
+                text(json, "email"),
+                userAuthId != null ? Long.valueOf(userAuthId) : null,
+                text(json, "role"),
+                eventTime != null ? Instant.parse(eventTime) : null,
+                loginType != null ? LoginType.valueOf(loginType) : null,
+                reason != null ? LoginReason.valueOf(reason) : null,
+                hash != null ? JwtHashUtil.fromHex(hash) : null,
+                issuedAt != null ? Instant.parse(issuedAt) : null,
+                expiresAt != null ? Instant.parse(expiresAt) : null
+        );
+    }
+
+    private static String text(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        return value == null || value.isNull() ? null : value.asString();
+    }
+
+    // =====================================================
+    // 🔄 LIFECYCLE
+    // =====================================================
+
+    @Override
+    public void start() {
+
+        running = true;
+
+        writerThread = new Thread(this::runWriter, "login-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        log.info("Login audit writer started capacity={} batchSize={} policy={}",
+                queueCapacity, batchSize, overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+
+        running = false;
+
+        try {
+            writerThread.join(drainTimeoutMillis);
+
+            if (writerThread.isAlive()) {
+                log.error("Login audit writer did not drain within {} ms, interrupting leftInQueue={}",
+                        drainTimeoutMillis, queue.size());
+                writerThread.interrupt();
+            }
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Lower than the web server's phases: started before it accepts requests
+     * and stopped only after it has stopped sending new events.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // =====================================================
+    // 📊 METRICS
+    // =====================================================
+
+    public AuditWriterStatsResponse stats() {
+
+        long batchCount = batches.sum();
+        long writtenCount = written.sum();
+
+        return new AuditWriterStatsResponse(
+                overflowPolicy.name(),
+                queue.size(),
+                queueCapacity,
+                enqueued.sum(),
+                writtenCount,
+                dropped.sum(),
+                spilled.sum(),
+                batchCount,
+                batchCount == 0 ? 0.0 : (double) writtenCount / batchCount,
+                batchCount == 0 ? 0.0 : flushNanos.sum() / 1_000_000.0 / batchCount,
+                maxFlushNanos.get() / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.registration.service;
+
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-time population of login_summary from existing login_audit rows.
+ *
+ * Enable with login-summary.backfill.enabled=true for the first start after
+ * upgrading, then switch it off again. The user_auth id space is cut into
+ * ranges that are rebuilt in parallel; live logins keep being merged while
+ * it runs. Safe to re-run.
+ */
+@Component
+public class LoginSummaryBackfillJob extends BaseLogger {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoginSummaryService summaryService;
+    private final boolean enabled;
+    private final int threads;
+    private final int rangeSize;
+
+    public LoginSummaryBackfillJob(
+            JdbcTemplate jdbcTemplate,
+            LoginSummaryService summaryService,
+            @Value("${login-summary.backfill.enabled:false}") boolean enabled,
+            @Value("${login-summary.backfill.threads:4}") int threads,
+            @Value("${login-summary.backfill.range-size:1000}") int rangeSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.summaryService = summaryService;
+        this.enabled = enabled;
+        this.threads = threads;
+        this.rangeSize = rangeSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+
+        if (!enabled) {
+            return;
+        }
+
+        Thread.ofPlatform()
+                .name("login-summary-backfill")
+                .daemon(true)
+                .start(this::backfill);
+    }
+
+    public void backfill() {
+
+        Map<String, Object> bounds =
+                jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM user_auth");
+
+        if (bounds.get("min_id") == null) {
+            log.info("Login summary backfill skipped - no accounts");
+            return;
+        }
+
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        long started = System.nanoTime();
+
+        log.info("Login summary backfill started ids={}..{} threads={} rangeSize={}",
+                minId, maxId, threads, rangeSize);
+
+        AtomicInteger rows = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> ranges = new ArrayList<>();
+
+            for (long from = minId; from <= maxId; from += rangeSize) {
+                long start = from;
+                long end = Math.min(maxId, from + rangeSize - 1);
+                ranges.add(pool.submit(() -> rows.addAndGet(summaryService.backfillRange(start, end))));
+            }
+
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+
+            log.info("Login summary backfill finished ranges={} rowsAffected={} in {} ms",
+                    ranges.size(), rows.get(), (System.nanoTime() - started) / 1_000_000);
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Login summary backfill interrupted");
+
+        } catch (Exception ex) {
+            log.error("Login summary backfill failed", ex);
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
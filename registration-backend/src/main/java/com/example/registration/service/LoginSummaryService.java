@@ -0,0 +1,142 @@
+package com.example.registration.service;
+
+import com.example.registration.enums.LoginType;
+import com.example.registration.logging.BaseLogger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * Maintains login_summary alongside login_audit.
+ *
+ * Live events are folded in by LoginAuditWriter in the same transaction as
+ * the audit rows: each batch is pre-aggregated per account and merged with
+ * one upsert per account. backfillRange rebuilds rows from the full history.
+ */
+@Service
+public class LoginSummaryService extends BaseLogger {
+
+    // Merge: earliest first login, latest login/logout, add to the count
+    static final String MERGE_SQL = """
+            INSERT INTO login_summary
+                (user_auth_id, first_login_at, last_login_at, last_logout_at, login_count)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                first_login_at = LEAST(COALESCE(first_login_at, VALUES(first_login_at)),
+                                       COALESCE(VALUES(first_login_at), first_login_at)),
+                last_login_at = GREATEST(COALESCE(last_login_at, VALUES(last_login_at)),
+                                         COALESCE(VALUES(last_login_at), last_login_at)),
+                last_logout_at = GREATEST(COALESCE(last_logout_at, VALUES(last_logout_at)),
+                                          COALESCE(VALUES(last_logout_at), last_logout_at)),
+                login_count = login_count + VALUES(login_count)
+            """;
+
+    // Rebuild: login_audit is the source of truth, overwrite what is there
+    static final String BACKFILL_SQL = """
+            INSERT INTO login_summary
+                (user_auth_id, first_login_at, last_login_at, last_logout_at, login_count)
+            SELECT user_auth_id,
+                   MIN(CASE WHEN login_type = 'LOGIN' THEN event_time END),
+                   MAX(CASE WHEN login_type = 'LOGIN' THEN event_time END),
+                   MAX(CASE WHEN login_type = 'LOGOUT' THEN event_time END),
+                   SUM(CASE WHEN login_type = 'LOGIN' THEN 1 ELSE 0 END)
+            FROM login_audit
+            WHERE user_auth_id BETWEEN ? AND ?
+              AND login_type IN ('LOGIN', 'LOGOUT')
+            GROUP BY user_auth_id
+            ON DUPLICATE KEY UPDATE
+                first_login_at = VALUES(first_login_at),
+                last_login_at = VALUES(last_login_at),
+                last_logout_at = VALUES(last_logout_at),
+                login_count = VALUES(login_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoginSummaryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Folds LOGIN and LOGOUT events of a batch into login_summary. Must run
+     * inside the transaction that inserts the same events.
+     */
+    void applyBatch(List<LoginAuditEvent> batch) {
+
+        // Sorted by account so concurrent batches lock rows in the same order
+        Map<Long, Delta> deltas = new TreeMap<>();
+
+        for (LoginAuditEvent event : batch) {
+            if (event.userAuthId == null) {
+                continue;
+            }
+            if (event.loginType == LoginType.LOGIN) {
+                deltas.computeIfAbsent(event.userAuthId, id -> new Delta()).login(event.eventTime);
+            } else if (event.loginType == LoginType.LOGOUT) {
+                deltas.computeIfAbsent(event.userAuthId, id -> new Delta()).logout(event.eventTime);
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        List<Map.Entry<Long, Delta>> rows = new ArrayList<>(deltas.entrySet());
+
+        jdbcTemplate.batchUpdate(MERGE_SQL, rows, rows.size(), (ps, row) -> {
+            Delta delta = row.getValue();
+            ps.setLong(1, row.getKey());
+            LoginAuditWriter.setInstant(ps, 2, delta.firstLogin, utc);
+            LoginAuditWriter.setInstant(ps, 3, delta.lastLogin, utc);
+            LoginAuditWriter.setInstant(ps, 4, delta.lastLogout, utc);
+            ps.setLong(5, delta.logins);
+        });
+    }
+
+    /**
+     * Recomputes summaries for user_auth ids in [fromId, toId] from login_audit
+     * in one INSERT ... SELECT, so the read and the write see the same rows.
+     *
+     * @return rows inserted or updated
+     */
+    public int backfillRange(long fromId, long toId) {
+        return jdbcTemplate.update(
+                BACKFILL_SQL,
+                new Object[]{fromId, toId},
+                new int[]{Types.BIGINT, Types.BIGINT}
+        );
+    }
+
+    private static final class Delta {
+
+        private Instant firstLogin;
+        private Instant lastLogin;
+        private Instant lastLogout;
+        private long logins;
+
+        void login(Instant at) {
+            logins++;
+            if (firstLogin == null || at.isBefore(firstLogin)) {
+                firstLogin = at;
+            }
+            if (lastLogin == null || at.isAfter(lastLogin)) {
+                lastLogin = at;
+            }
+        }
+
+        void logout(Instant at) {
+            if (lastLogout == null || at.isAfter(lastLogout)) {
+                lastLogout = at;
+            }
+        }
+    }
+}
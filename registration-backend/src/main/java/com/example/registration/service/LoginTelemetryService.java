@@ -0,0 +1,277 @@
+package com.example.registration.service;
+
+import com.example.registration.dto.LoginTelemetryResponse;
+import com.example.registration.dto.LoginTelemetrySeries;
+import com.example.registration.enums.LoginReason;
+import com.example.registration.enums.LoginType;
+import com.example.registration.logging.BaseLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Rolling per-minute login counters and latency histograms, kept in memory.
+ *
+ * One ring of minute slots per (login type, reason, role). Recording is a
+ * couple of atomic increments on the current slot; when a slot is reused
+ * for a new minute it is swapped out with a single CAS, so there is no lock
+ * and no background thread. Slots only ever move forward in time: a writer
+ * that is a full lap late, or whose clock went back, drops its event
+ * instead of replacing a newer minute. Reads sum the slots of the requested
+ * window, so dashboards no longer need GROUP BY queries on login_audit.
+ *
+ * Latencies go into power-of-two buckets from 250 µs, percentiles are
+ * reported as the upper bound of the bucket they fall in.
+ */
+@Service
+public class LoginTelemetryService extends BaseLogger {
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long FIRST_BUCKET_MICROS = 250;
+    private static final int LATENCY_BUCKETS = 20;
+
+    private final int windowMinutes;
+    private final ConcurrentMap<Key, MinuteRing> rings = new ConcurrentHashMap<>();
+
+    public LoginTelemetryService(
+            @Value("${telemetry.login.window-minutes:60}") int windowMinutes) {
+
+        if (windowMinutes < 1) {
+            throw new IllegalArgumentException("telemetry.login.window-minutes must be at least 1");
+        }
+        this.windowMinutes = windowMinutes;
+    }
+
+    /**
+     * @param latencyNanos time the attempt took, or a negative value when
+     *                     the event carries no latency (logout, for example)
+     */
+    public void record(LoginType loginType, LoginReason reason, String role, long latencyNanos) {
+
+        rings.computeIfAbsent(new Key(loginType, reason, role), k -> new MinuteRing(windowMinutes))
+                .record(currentMinute(), latencyNanos);
+    }
+
+    /**
+     * Per-minute counts for the last {@code minutes} minutes, oldest first,
+     * for every series matching the filters. Null filters match anything.
+     */
+    public LoginTelemetryResponse query(int minutes, LoginType loginType, LoginReason reason, String role) {
+
+        int window = Math.clamp(minutes, 1, windowMinutes);
+        long newest = currentMinute();
+        long oldest = newest - window + 1;
+
+        long[] perMinuteTotal = new long[window];
+        List<LoginTelemetrySeries> series = new ArrayList<>();
+
+        rings.forEach((key, ring) -> {
+
+            if ((loginType != null && key.loginType != loginType)
+                    || (reason != null && key.reason != reason)
+                    || (role != null && !role.equalsIgnoreCase(key.role))) {
+                return;
+            }
+
+            long[] perMinute = new long[window];
+            long[] buckets = new long[LATENCY_BUCKETS];
+            long maxNanos = ring.read(oldest, newest, perMinute, buckets);
+
+            long total = 0;
+            for (int i = 0; i < window; i++) {
+                total += perMinute[i];
+                perMinuteTotal[i] += perMinute[i];
+            }
+            if (total == 0) {
+                return;
+            }
+
+            long timed = 0;
+            for (long count : buckets) {
+                timed += count;
+            }
+
+            series.add(new LoginTelemetrySeries(
+                    key.loginType,
+                    key.reason,
+                    key.role,
+                    total,
+                    perMinute,
+                    timed,
+                    percentileMillis(buckets, timed, 0.50),
+                    percentileMillis(buckets, timed, 0.95),
+                    percentileMillis(buckets, timed, 0.99),
+                    timed == 0 ? null : maxNanos / 1_000_000.0
+            ));
+        });
+
+        series.sort((a, b) -> Long.compare(b.getTotal(), a.getTotal()));
+
+        return new LoginTelemetryResponse(
+                window,
+                Instant.ofEpochMilli(oldest * MILLIS_PER_MINUTE),
+                perMinuteTotal,
+                series
+        );
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / MILLIS_PER_MINUTE;
+    }
+
+    static int bucketOf(long latencyNanos) {
+
+        long micros = latencyNanos / 1_000;
+        if (micros <= FIRST_BUCKET_MICROS) {
+            return 0;
+        }
+
+        // Bucket i holds (250 µs * 2^(i-1), 250 µs * 2^i]
+        int bucket = 64 - Long.numberOfLeadingZeros((micros - 1) / FIRST_BUCKET_MICROS);
+
+        return Math.min(bucket, LATENCY_BUCKETS - 1);
+    }
+
+    private static Double percentileMillis(long[] buckets, long count, double percentile) {
+
+        if (count == 0) {
+            return null;
+        }
+
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return (FIRST_BUCKET_MICROS << i) / 1_000.0;
+            }
+        }
+        return (FIRST_BUCKET_MICROS << (buckets.length - 1)) / 1_000.0;
+    }
+
+    // =====================================================
+    // ⏱ RING OF MINUTE SLOTS
+    // =====================================================
+
+    private static final class Key {
+
+        private final LoginType loginType;
+        private final LoginReason reason;
+        private final String role;
+
+        Key(LoginType loginType, LoginReason reason, String role) {
+            this.loginType = loginType;
+            this.reason = reason;
+            this.role = role;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && loginType == key.loginType
+                    && reason == key.reason
+                    && Objects.equals(role, key.role);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(loginType, reason, role);
+        }
+    }
+
+    private static final class Slot {
+
+        private final long minute;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLongArray latency = new AtomicLongArray(LATENCY_BUCKETS);
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Slot(long minute) {
+            this.minute = minute;
+        }
+    }
+
+    private static final class MinuteRing {
+
+        private final AtomicReferenceArray<Slot> slots;
+
+        MinuteRing(int size) {
+            this.slots = new AtomicReferenceArray<>(size);
+        }
+
+        void record(long minute, long latencyNanos) {
+
+            Slot slot = slotFor(minute);
+            if (slot == null) {
+                return;
+            }
+
+            slot.count.incrementAndGet();
+
+            if (latencyNanos >= 0) {
+                slot.latency.incrementAndGet(bucketOf(latencyNanos));
+                slot.maxNanos.accumulateAndGet(latencyNanos, Math::max);
+            }
+        }
+
+        /**
+         * The slot of {@code minute}, or null when the slot already belongs
+         * to a later minute.
+         */
+        private Slot slotFor(long minute) {
+
+            int index = (int) (minute % slots.length());
+
+            while (true) {
+                Slot current = slots.get(index);
+                if (current != null && current.minute == minute) {
+                    return current;
+                }
+                if (current != null && current.minute > minute) {
+                    // Swapping it back would throw away that minute's counts
+                    return null;
+                }
+
+                // First writer of a new minute swaps in an empty slot, the others reuse it
+                Slot fresh = new Slot(minute);
+                if (slots.compareAndSet(index, current, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        /**
+         * Copies the slots in [oldest, newest] into perMinute and buckets and
+         * returns the largest latency seen. Slots left over from earlier
+         * laps of the ring are ignored.
+         */
+        long read(long oldest, long newest, long[] perMinute, long[] buckets) {
+
+            long maxNanos = 0;
+
+            for (int i = 0; i < slots.length(); i++) {
+                Slot slot = slots.get(i);
+                if (slot == null || slot.minute < oldest || slot.minute > newest) {
+                    continue;
+                }
+
+                perMinute[(int) (slot.minute - oldest)] = slot.count.get();
+                for (int b = 0; b < LATENCY_BUCKETS; b++) {
+                    buckets[b] += slot.latency.get(b);
+                }
+                maxNanos = Math.max(maxNanos, slot.maxNanos.get());
+            }
+            return maxNanos;
+        }
+    }
+}
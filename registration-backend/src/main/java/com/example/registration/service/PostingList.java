@@ -0,0 +1,184 @@
+package com.example.registration.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Ascending action_audit ids for one term of ActionAuditTextIndex, stored
+ * as varint-encoded gaps between consecutive ids. Audit ids grow by one per
+ * row, so a gap nearly always fits in one or two bytes instead of eight.
+ *
+ * Not thread-safe; ActionAuditTextIndex guards every list with its lock.
+ */
+final class PostingList {
+
+    private byte[] bytes;
+    private int length;
+    private int size;
+    private long first;
+    private long last;
+
+    PostingList() {
+        this.bytes = new byte[8];
+    }
+
+    private PostingList(byte[] bytes, int size, long first, long last) {
+        this.bytes = bytes;
+        this.length = bytes.length;
+        this.size = size;
+        this.first = first;
+        this.last = last;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    /**
+     * Adds an id. Ids normally arrive in ascending order and are appended;
+     * an id that is already present is ignored, and an older one (a row
+     * committed out of id order) is merged in by re-encoding the list.
+     */
+    void add(long id) {
+
+        if (size == 0) {
+            first = id;
+            last = id;
+            writeVarint(id);
+            size = 1;
+            return;
+        }
+
+        if (id > last) {
+            writeVarint(id - last);
+            last = id;
+            size++;
+            return;
+        }
+
+        long[] ids = toArray();
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return;
+        }
+
+        int insertAt = -at - 1;
+        long[] merged = new long[ids.length + 1];
+        System.arraycopy(ids, 0, merged, 0, insertAt);
+        merged[insertAt] = id;
+        System.arraycopy(ids, insertAt, merged, insertAt + 1, ids.length - insertAt);
+
+        length = 0;
+        size = 0;
+        for (long value : merged) {
+            add(value);
+        }
+    }
+
+    /**
+     * Appends every id of {@code next}, whose ids all come after this list's.
+     * Only the first gap is re-encoded, the rest of its bytes are copied.
+     */
+    void appendAll(PostingList next) {
+
+        if (next.size == 0) {
+            return;
+        }
+        if (size > 0 && next.first <= last) {
+            throw new IllegalArgumentException("Posting lists overlap");
+        }
+
+        int firstLength = varintLength(next.bytes, 0);
+
+        writeVarint(size == 0 ? next.first : next.first - last);
+        ensureCapacity(next.length - firstLength);
+        System.arraycopy(next.bytes, firstLength, bytes, length, next.length - firstLength);
+        length += next.length - firstLength;
+
+        if (size == 0) {
+            first = next.first;
+        }
+        last = next.last;
+        size += next.size;
+    }
+
+    long[] toArray() {
+
+        long[] ids = new long[size];
+        long current = 0;
+        int position = 0;
+
+        for (int i = 0; i < size; i++) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            current += value;
+            ids[i] = current;
+        }
+        return ids;
+    }
+
+    // =====================================================
+    // 💾 SNAPSHOT FORM
+    // =====================================================
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeLong(first);
+        out.writeLong(last);
+        out.writeInt(length);
+        out.write(bytes, 0, length);
+    }
+
+    static PostingList read(DataInput in) throws IOException {
+
+        int size = in.readInt();
+        long first = in.readLong();
+        long last = in.readLong();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+
+        return new PostingList(bytes, size, first, last);
+    }
+
+    // =====================================================
+    // 🔢 VARINTS
+    // =====================================================
+
+    private void writeVarint(long value) {
+
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private static int varintLength(byte[] bytes, int position) {
+
+        int start = position;
+        while (bytes[position] < 0) {
+            position++;
+        }
+        return position - start + 1;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
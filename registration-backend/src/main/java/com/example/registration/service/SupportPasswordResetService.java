@@ -1,5 +1,7 @@
 package com.example.registration.service;
 
+import com.example.registration.cache.UserAuthCache;
+import com.example.registration.dto.PasswordResetRequestResponse;
 import com.example.registration.entity.PasswordResetRequest;
 import com.example.registration.entity.UserAuth;
 import com.example.registration.enums.ActionStatus;
@@ -9,9 +11,9 @@ import com.example.registration.exception.BadRequestException;
 import com.example.registration.exception.ResourceNotFoundException;
 import com.example.registration.logging.BaseLogger;
 import com.example.registration.repository.PasswordResetRequestRepository;
-import com.example.registration.repository.UserAuthRepository;
+import com.example.registration.security.AuthVersionRegistry;
+import com.example.registration.security.PasswordHashingService;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -22,20 +24,23 @@ import java.util.UUID;
 public class SupportPasswordResetService extends BaseLogger {
 
     private final PasswordResetRequestRepository requestRepo;
-    private final UserAuthRepository authRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final UserAuthCache authCache;
+    private final PasswordHashingService passwordHasher;
     private final ActionAuditService actionAuditService;
+    private final AuthVersionRegistry authVersions;
 
     public SupportPasswordResetService(
             PasswordResetRequestRepository requestRepo,
-            UserAuthRepository authRepo,
-            PasswordEncoder passwordEncoder,
-            ActionAuditService actionAuditService
+            UserAuthCache authCache,
+            PasswordHashingService passwordHasher,
+            ActionAuditService actionAuditService,
+            AuthVersionRegistry authVersions
     ) {
         this.requestRepo = requestRepo;
-        this.authRepo = authRepo;
-        this.passwordEncoder = passwordEncoder;
+        this.authCache = authCache;
+        this.passwordHasher = passwordHasher;
         this.actionAuditService = actionAuditService;
+        this.authVersions = authVersions;
     }
 
     // ================= USER: RAISE REQUEST =================
@@ -44,7 +49,7 @@ public class SupportPasswordResetService extends BaseLogger {
 
         log.info("Password reset request raised for email={}", email);
 
-        UserAuth auth = authRepo.findByEmail(email)
+        UserAuth auth = authCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         PasswordResetRequest req = new PasswordResetRequest();
@@ -60,11 +65,11 @@ public class SupportPasswordResetService extends BaseLogger {
 
     // ================= SUPPORT / ADMIN / SUPER_ADMIN: VIEW =================
 
-    public List<PasswordResetRequest> getAllRequests() {
+    public List<PasswordResetRequestResponse> getAllRequests() {
 
         log.info("Password reset request list requested");
 
-        return requestRepo.findAll();
+        return requestRepo.findAllResponses();
     }
 
     // ================= SUPPORT: ACCEPT REQUEST =================
@@ -86,7 +91,7 @@ public class SupportPasswordResetService extends BaseLogger {
                 .substring(0, 10);
 
         req.setTempPasswordPlain(generatedPassword);
-        req.setTempPasswordHash(passwordEncoder.encode(generatedPassword));
+        req.setTempPasswordHash(passwordHasher.encode(generatedPassword));
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth.getAuthorities().isEmpty()) {
@@ -125,7 +130,9 @@ public class SupportPasswordResetService extends BaseLogger {
             UserAuth auth = req.getUserAuth();
 
             auth.setPassword(req.getTempPasswordHash());
-            authRepo.save(auth);
+            auth.bumpAuthVersion();
+            authCache.save(auth);
+            authVersions.update(auth);
 
             String authUser = auth.getEmail();
 
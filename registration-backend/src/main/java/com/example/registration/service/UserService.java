@@ -1,39 +1,39 @@
 package com.example.registration.service;
 
+import com.example.registration.cache.UserAuthCache;
 import com.example.registration.dto.UserFullResponse;
 import com.example.registration.dto.UserProfileRequest;
 import com.example.registration.dto.UserShortResponse;
 import com.example.registration.dto.UserViewResponse;
 import com.example.registration.entity.User;
 import com.example.registration.entity.UserAuth;
-import com.example.registration.enums.ActionStatus;
 import com.example.registration.enums.ActionType;
 import com.example.registration.enums.Roles;
 import com.example.registration.exception.AccessDeniedException;
 import com.example.registration.exception.ResourceNotFoundException;
 import com.example.registration.logging.BaseLogger;
-import com.example.registration.repository.UserAuthRepository;
 import com.example.registration.repository.UserRepository;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class UserService extends BaseLogger {
 
     private final UserRepository userRepo;
-    private final UserAuthRepository authRepo;
+    private final UserAuthCache authCache;
     private final ActionAuditService actionAuditService;
 
     public UserService(
             UserRepository userRepo,
-            UserAuthRepository authRepo,
+            UserAuthCache authCache,
             ActionAuditService actionAuditService) {
 
         this.userRepo = userRepo;
-        this.authRepo = authRepo;
+        this.authCache = authCache;
         this.actionAuditService = actionAuditService;
     }
 
@@ -61,7 +61,7 @@ public class UserService extends BaseLogger {
 
             log.info("Profile creation attempt by role={} for authId={}", role, authId);
 
-            auth = authRepo.findById(authId)
+            auth = authCache.findById(authId)
                     .orElseThrow(() -> new AccessDeniedException("Unauthorized"));
 
             if (Roles.USER.name().equals(role) &&
@@ -94,15 +94,14 @@ public class UserService extends BaseLogger {
             User savedUser = userRepo.save(user);
 
             auth.setProfileCreated(true);
-            authRepo.save(auth);
+            authCache.save(auth);
 
-            actionAuditService.logAction(
+            actionAuditService.logChange(
                     ActionType.PROFILE_CREATE,
-                    ActionStatus.SUCCESS,
                     auth.getEmail(),
                     savedUser.getId(),
                     null,
-                    savedUser.toString(),
+                    AuditStateCodec.snapshot(savedUser),
                     "Profile created"
             );
 
@@ -171,29 +170,37 @@ public class UserService extends BaseLogger {
             AtomicLong sno = new AtomicLong(1);
 
             return users.stream()
-                    .map(u -> (UserViewResponse) new UserShortResponse(
-                            sno.getAndIncrement(),
-                            u.getName(),
-                            u.getAuth().getEmail(),
-                            maskPhone(u.getPhone())
-                    ))
+                    .map(u -> (UserViewResponse) toShortResponse(sno.getAndIncrement(), u))
                     .toList();
         }
 
         return users.stream()
-                .map(u -> (UserViewResponse) new UserFullResponse(
-                        u.getId(),
-                        u.getName(),
-                        u.getAuth().getEmail(),
-                        u.getPhone(),
-                        u.getAddress(),
-                        u.getDob(),
-                        u.getLanguages()
-                ))
+                .map(u -> (UserViewResponse) toFullResponse(u))
                 .toList();
     }
 
-    private String maskPhone(String phone) {
+    static UserShortResponse toShortResponse(long sno, User u) {
+        return new UserShortResponse(
+                sno,
+                u.getName(),
+                u.getAuth().getEmail(),
+                maskPhone(u.getPhone())
+        );
+    }
+
+    static UserFullResponse toFullResponse(User u) {
+        return new UserFullResponse(
+                u.getId(),
+                u.getName(),
+                u.getAuth().getEmail(),
+                u.getPhone(),
+                u.getAddress(),
+                u.getDob(),
+                u.getLanguages()
+        );
+    }
+
+    static String maskPhone(String phone) {
         if (phone == null || phone.length() < 4) return "XXXX";
         return "XXXXXX" + phone.substring(phone.length() - 4);
     }
@@ -239,7 +246,7 @@ public class UserService extends BaseLogger {
                 throw new AccessDeniedException("You can edit only your own profile");
             }
 
-            String before = existing.toString();
+            Map<String, Object> before = AuditStateCodec.snapshot(existing);
 
             existing.setName(user.getName());
             existing.setPhone(user.getPhone());
@@ -253,13 +260,12 @@ public class UserService extends BaseLogger {
 
             User updated = userRepo.save(existing);
 
-            actionAuditService.logAction(
+            actionAuditService.logChange(
                     ActionType.PROFILE_UPDATE,
-                    ActionStatus.SUCCESS,
                     existing.getAuth().getEmail(),
                     existing.getId(),
                     before,
-                    updated.toString(),
+                    AuditStateCodec.snapshot(updated),
                     "Profile updated"
             );
 
@@ -0,0 +1,78 @@
+-- Schema as Hibernate's ddl-auto=update created it before migrations took over.
+-- Constraint names are the ones Hibernate generated, so databases that were
+-- baselined at version 1 and fresh ones created from this script match.
+
+CREATE TABLE user_auth (
+    active          BIT          NOT NULL,
+    profile_created BIT          NOT NULL,
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    email           VARCHAR(255) NOT NULL,
+    password        VARCHAR(255) NOT NULL,
+    role            ENUM ('ADMIN','EDITOR','SUPER_ADMIN','SUPPORT','SYSTEM','USER') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKpou0ngjxlvv2r6yd8td3idhqk UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    age           INTEGER,
+    dob           DATE,
+    auth_id       BIGINT,
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    address       VARCHAR(255),
+    email_id      VARCHAR(255),
+    gender        VARCHAR(255),
+    languages     VARCHAR(255),
+    name          VARCHAR(255),
+    phone         VARCHAR(255),
+    qualification VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT FKmbqg14t7oqir3afwko8sylkbt FOREIGN KEY (auth_id) REFERENCES user_auth (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE login_audit (
+    event_time     DATETIME(6),
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    jwt_expires_at DATETIME(6),
+    jwt_issued_at  DATETIME(6),
+    user_auth_id   BIGINT,
+    email          VARCHAR(255),
+    role           VARCHAR(255),
+    jwt_token_hash VARCHAR(255),
+    login_reason   ENUM ('EMAIL_NOT_FOUND','INVALID_CURRENT_PASSWORD','INVALID_PASSWORD','LOGIN_SUCCESS',
+                         'PASSWORD_CHANGED_SUCCESS','SAME_PASSWORD_REUSE','USER_DISABLED','USER_LOGOUT'),
+    login_type     ENUM ('FAILED','LOGIN','LOGOUT','PASSWORD_CHANGED','PASSWORD_RESET_BY_SUPPORT'),
+    PRIMARY KEY (id),
+    CONSTRAINT FKk1m1h9rank8vm1ji86cnmpp98 FOREIGN KEY (user_auth_id) REFERENCES user_auth (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE action_audit (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    performed_at      DATETIME(6)  NOT NULL,
+    target_user_id    BIGINT,
+    action_reason     VARCHAR(255),
+    actor_email       VARCHAR(255) NOT NULL,
+    target_user_email VARCHAR(255),
+    action_status     ENUM ('FAILED','SUCCESS') NOT NULL,
+    action_type       ENUM ('ACCOUNT_ACTIVATE','ACCOUNT_DEACTIVATE','PASSWORD_RESET','PROFILE_CREATE',
+                            'PROFILE_UPDATE','ROLE_CHANGE','USER_DELETE') NOT NULL,
+    actor_role        ENUM ('ADMIN','EDITOR','SUPER_ADMIN','SUPPORT','SYSTEM','USER') NOT NULL,
+    after_state       LONGTEXT,
+    before_state      LONGTEXT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE password_reset_request (
+    approved_at         DATETIME(6),
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    password_sent_at    DATETIME(6),
+    requested_at        DATETIME(6),
+    user_auth_id        BIGINT NOT NULL,
+    approved_by         VARCHAR(255),
+    remarks             VARCHAR(255),
+    temp_password_hash  VARCHAR(255),
+    temp_password_plain VARCHAR(255),
+    user_email          VARCHAR(255),
+    status              ENUM ('ACCEPTED','PASSWORD_SENT','REQUESTED'),
+    PRIMARY KEY (id),
+    CONSTRAINT FKljdnu6ye55hqui2wkj0xxcylp FOREIGN KEY (user_auth_id) REFERENCES user_auth (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,31 @@
+-- Token invalidation counter checked against the "ver" claim of every JWT
+ALTER TABLE user_auth
+    ADD COLUMN auth_version INTEGER NOT NULL DEFAULT 0;
+
+-- jwt_token_hash: 64-char hex VARCHAR -> raw BINARY(32), see TokenHashConverter
+ALTER TABLE login_audit
+    ADD COLUMN jwt_token_hash_bin BINARY(32) NULL AFTER jwt_token_hash;
+
+UPDATE login_audit
+SET jwt_token_hash_bin = UNHEX(jwt_token_hash)
+WHERE jwt_token_hash IS NOT NULL;
+
+ALTER TABLE login_audit
+    DROP COLUMN jwt_token_hash;
+
+ALTER TABLE login_audit
+    RENAME COLUMN jwt_token_hash_bin TO jwt_token_hash;
+
+CREATE INDEX idx_login_audit_jwt_token_hash
+    ON login_audit (jwt_token_hash);
+
+-- Per-account login summary read by the login alert, filled by
+-- LoginSummaryBackfillJob for history that predates it
+CREATE TABLE login_summary (
+    first_login_at DATETIME(6),
+    last_login_at  DATETIME(6),
+    last_logout_at DATETIME(6),
+    login_count    BIGINT NOT NULL,
+    user_auth_id   BIGINT NOT NULL,
+    PRIMARY KEY (user_auth_id)
+) ENGINE = InnoDB;
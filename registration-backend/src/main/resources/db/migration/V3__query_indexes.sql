@@ -0,0 +1,33 @@
+-- One index per repository lookup. Leading columns are the equality filters,
+-- the range or sort column comes last.
+
+-- LoginAuditRepository.findByEmailAndLoginTypeAndJwtExpiresAtAfter (revoke all sessions)
+CREATE INDEX idx_login_audit_email_type_expires
+    ON login_audit (email, login_type, jwt_expires_at);
+
+-- LoginAuditRepository.findByLoginTypeAndJwtExpiresAtAfter (revocation list rebuild)
+CREATE INDEX idx_login_audit_type_expires
+    ON login_audit (login_type, jwt_expires_at);
+
+-- LoginAuditRepository.findByEmail (own login history, newest first)
+CREATE INDEX idx_login_audit_email_event_time
+    ON login_audit (email, event_time);
+
+-- ActionAuditRepository.findByActionType / findByActionTypeAndActionStatus
+CREATE INDEX idx_action_audit_type_status_time
+    ON action_audit (action_type, action_status, performed_at);
+
+-- ActionAuditRepository.findByActionStatus
+CREATE INDEX idx_action_audit_status_time
+    ON action_audit (action_status, performed_at);
+
+-- ActionAuditRepository.findByPerformedAtBetween
+CREATE INDEX idx_action_audit_performed_at
+    ON action_audit (performed_at);
+
+-- PasswordResetRequestRepository.findByStatus
+CREATE INDEX idx_password_reset_request_status
+    ON password_reset_request (status);
+
+-- users.auth_id (UserRepository.findByAuthEmail) and the user_auth_id columns
+-- are already indexed by InnoDB for their foreign keys.
@@ -0,0 +1,17 @@
+-- Keyset pagination of login_audit is ordered by (event_time, id). InnoDB
+-- appends the primary key to every secondary index, so an index ending in
+-- event_time already delivers rows in that order and the page is a plain
+-- range read with no filesort. One index per filter the listing accepts;
+-- the email filter reuses idx_login_audit_email_event_time from V3.
+
+-- Unfiltered listing and time window only
+CREATE INDEX idx_login_audit_event_time
+    ON login_audit (event_time);
+
+-- Filter on login type
+CREATE INDEX idx_login_audit_type_event_time
+    ON login_audit (login_type, event_time);
+
+-- Filter on reason
+CREATE INDEX idx_login_audit_reason_event_time
+    ON login_audit (login_reason, event_time);
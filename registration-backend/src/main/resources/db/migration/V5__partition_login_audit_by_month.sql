@@ -0,0 +1,47 @@
+-- Monthly RANGE partitioning of login_audit on event_time, so retention can
+-- drop a whole month at once instead of deleting row by row.
+--
+-- MySQL requirements for partitioned InnoDB tables:
+--   * every unique key, the primary key included, contains event_time
+--   * no foreign keys (the user_auth_id index is kept for lookups)
+
+ALTER TABLE login_audit
+    DROP FOREIGN KEY FKk1m1h9rank8vm1ji86cnmpp98;
+
+UPDATE login_audit
+SET event_time = COALESCE(jwt_issued_at, '1970-01-01')
+WHERE event_time IS NULL;
+
+ALTER TABLE login_audit
+    MODIFY event_time DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, event_time);
+
+-- Everything before the current month lands in p_legacy, which retention
+-- drops as one unit once its newest day has expired. Later months are
+-- added ahead of time by LoginAuditPartitionJob, which splits pmax.
+SET @current_month = DATE_FORMAT(UTC_DATE(), '%Y-%m-01');
+SET @next_month = DATE_FORMAT(UTC_DATE() + INTERVAL 1 MONTH, '%Y-%m-01');
+
+SET @partition_sql = CONCAT(
+    'ALTER TABLE login_audit PARTITION BY RANGE COLUMNS (event_time) (',
+    'PARTITION p_legacy VALUES LESS THAN (''', @current_month, '''), ',
+    'PARTITION p', DATE_FORMAT(@current_month, '%Y%m'), ' VALUES LESS THAN (''', @next_month, '''), ',
+    'PARTITION pmax VALUES LESS THAN (MAXVALUE))'
+);
+
+PREPARE partition_login_audit FROM @partition_sql;
+EXECUTE partition_login_audit;
+DEALLOCATE PREPARE partition_login_audit;
+
+-- What is left of a month after its raw rows are dropped: event counts per
+-- UTC day, role, login type and reason. Empty strings stand in for NULL so
+-- the columns can be part of the key.
+CREATE TABLE login_audit_daily (
+    day          DATE         NOT NULL,
+    role         VARCHAR(32)  NOT NULL,
+    login_type   VARCHAR(32)  NOT NULL,
+    login_reason VARCHAR(64)  NOT NULL,
+    event_count  BIGINT       NOT NULL,
+    PRIMARY KEY (day, role, login_type, login_reason)
+) ENGINE = InnoDB;
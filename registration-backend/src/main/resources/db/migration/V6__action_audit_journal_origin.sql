@@ -0,0 +1,11 @@
+-- action_audit rows are written by ActionAuditShipper from a local journal.
+-- Each row remembers which journal and sequence it came from; the unique key
+-- turns a batch shipped twice (crash between insert and checkpoint) into a
+-- no-op. Rows inserted directly leave both columns NULL, which the unique
+-- key does not compare.
+ALTER TABLE action_audit
+    ADD COLUMN journal_node VARCHAR(36) NULL,
+    ADD COLUMN journal_seq  BIGINT      NULL;
+
+ALTER TABLE action_audit
+    ADD CONSTRAINT uk_action_audit_journal UNIQUE (journal_node, journal_seq);
@@ -0,0 +1,4 @@
+-- Rebuilding the full state of an audited change walks the later changes of
+-- the same target, newest first (ActionAuditRepository.findLaterChanges)
+CREATE INDEX idx_action_audit_target_time
+    ON action_audit (target_user_email, performed_at);
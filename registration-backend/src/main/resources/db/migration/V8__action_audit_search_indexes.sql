@@ -0,0 +1,24 @@
+-- The action audit search orders by (performed_at, id) and accepts any mix
+-- of filters. Each filter gets an index (filter, performed_at) so a search
+-- on it is a range read in order with no filesort; InnoDB appends id.
+-- Already present: (action_type, action_status, performed_at) and
+-- (action_status, performed_at) from V3, (performed_at) from V3 for the
+-- unfiltered listing, (target_user_email, performed_at) from V7.
+-- When several filters are set MySQL picks the most selective of these
+-- and checks the rest on the rows it reads.
+
+-- Type without status
+CREATE INDEX idx_action_audit_type_time
+    ON action_audit (action_type, performed_at);
+
+-- Actions performed by one account
+CREATE INDEX idx_action_audit_actor_time
+    ON action_audit (actor_email, performed_at);
+
+-- Actions performed by a role
+CREATE INDEX idx_action_audit_actor_role_time
+    ON action_audit (actor_role, performed_at);
+
+-- Actions on one user id
+CREATE INDEX idx_action_audit_target_id_time
+    ON action_audit (target_user_id, performed_at);
@@ -0,0 +1,81 @@
+package com.example.registration.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void allowsABurstOfCapacityThenRejects() {
+
+        RateLimiter limiter = new RateLimiter(5, Duration.ofMinutes(1), 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client"), "attempt " + i);
+        }
+
+        long wait = limiter.tryAcquire("client");
+
+        // One token comes back every period / capacity
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(12), "wait=" + wait);
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMinutes(1), 100);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+        assertEquals(2, limiter.trackedKeys());
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(2), 100);
+
+        limiter.tryAcquire("client");
+        limiter.tryAcquire("client");
+        long wait = limiter.tryAcquire("client");
+        assertTrue(wait > 0);
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        // Only one interval has passed, the next token is still most of an interval away
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    void idleBucketRefillsCompletely() throws InterruptedException {
+
+        RateLimiter limiter = new RateLimiter(3, Duration.ofMillis(300), 100);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("client");
+        }
+        assertTrue(limiter.tryAcquire("client") > 0);
+
+        TimeUnit.MILLISECONDS.sleep(350);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client"), "attempt " + i);
+        }
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, Duration.ofSeconds(1), 100));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, Duration.ZERO, 100));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.registration.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBloomFilterTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void addedHashesAreAlwaysFound() {
+
+        TokenBloomFilter filter = new TokenBloomFilter(1 << 16, 5);
+        List<byte[]> added = hashes(5_000);
+
+        added.forEach(filter::add);
+
+        for (byte[] hash : added) {
+            assertTrue(filter.mightContain(hash));
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+
+        TokenBloomFilter filter = new TokenBloomFilter(64, 3);
+
+        for (byte[] hash : hashes(100)) {
+            assertFalse(filter.mightContain(hash));
+        }
+    }
+
+    @Test
+    void falsePositivesStayRare() {
+
+        // 2^20 bits, 5 probes and 50k entries: about 0.04% expected
+        TokenBloomFilter filter = new TokenBloomFilter(1 << 20, 5);
+        hashes(50_000).forEach(filter::add);
+
+        long positives = hashes(100_000).stream().filter(filter::mightContain).count();
+
+        assertTrue(positives < 1_000, "false positives=" + positives);
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+
+        TokenBloomFilter filter = new TokenBloomFilter(1 << 12, 4);
+        List<byte[]> added = hashes(20_000);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<?>> pending = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<byte[]> part = added.subList(t * 5_000, (t + 1) * 5_000);
+                pending.add(pool.submit(() -> part.forEach(filter::add)));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (byte[] hash : added) {
+            assertTrue(filter.mightContain(hash));
+        }
+    }
+
+    @Test
+    void sizeMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBloomFilter(1000, 3));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBloomFilter(32, 3));
+    }
+
+    private List<byte[]> hashes(int count) {
+
+        List<byte[]> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            hashes.add(hash);
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.registration.service;
+
+import com.example.registration.enums.ActionStatus;
+import com.example.registration.enums.ActionType;
+import com.example.registration.enums.Roles;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActionAuditTailTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch stall;
+
+    // buffer-size 16, max-lag 4, one sender, no heartbeats during a test
+    private final ActionAuditTail tail = new ActionAuditTail(
+            JsonMapper.builder().build(), true, 16, 4, 10, 1, 60_000) {
+
+        @Override
+        SseEmitter newEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter(stall);
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void stop() {
+        tail.stop();
+    }
+
+    @Test
+    void sequenceOfAcceptsOnlyIdsOfThisGeneration() throws Exception {
+
+        tail.start();
+        RecordingEmitter emitter = subscribe(null);
+        tail.publish(event());
+
+        String id = awaitIds(emitter, 1).getFirst();
+
+        assertEquals(1, tail.sequenceOf(id));
+        assertEquals(-1, tail.sequenceOf("0-1"));
+        assertEquals(-1, tail.sequenceOf("-1"));
+        assertEquals(-1, tail.sequenceOf("1"));
+        assertEquals(-1, tail.sequenceOf(id.substring(0, id.lastIndexOf('-')) + "-x"));
+    }
+
+    @Test
+    void resumesAfterLastEventIdFromTheRing() throws Exception {
+
+        tail.start();
+        RecordingEmitter first = subscribe(null);
+        List<String> ids = publish(first, 3);
+
+        RecordingEmitter resumed = subscribe(ids.getFirst());
+
+        assertEquals(ids.subList(1, 3), awaitIds(resumed, 2));
+        assertEquals(1, tail.stats().getResumed());
+        assertEquals(0, tail.stats().getResets());
+    }
+
+    @Test
+    void unknownOrTooOldLastEventIdGetsReset() throws Exception {
+
+        tail.start();
+        RecordingEmitter first = subscribe(null);
+        List<String> ids = publish(first, 6);
+
+        // Six events behind with max-lag 4, and an id from another generation
+        RecordingEmitter tooOld = subscribe(ids.getFirst());
+        RecordingEmitter stale = subscribe("0-3");
+
+        assertTrue(tooOld.text().contains("event:" + ActionAuditTail.RESET_EVENT), tooOld.text());
+        assertTrue(stale.text().contains("event:" + ActionAuditTail.RESET_EVENT), stale.text());
+        assertEquals(2, tail.stats().getResets());
+
+        // A reset stream continues with new events
+        tail.publish(event());
+        assertEquals(List.of(ids.getFirst().replaceAll("-\\d+$", "-7")), awaitIds(stale, 1));
+    }
+
+    @Test
+    void subscriberFallingTooFarBehindIsDropped() throws Exception {
+
+        stall = new CountDownLatch(1);
+        tail.start();
+        RecordingEmitter slow = subscribe(null);
+
+        tail.publish(event());
+        assertTrue(slow.writing.await(5, TimeUnit.SECONDS));
+
+        // The only sender is stuck writing, while max-lag is 4
+        for (int i = 0; i < 10; i++) {
+            tail.publish(event());
+        }
+
+        await(() -> tail.stats().getDropped() == 1);
+        assertEquals(0, tail.stats().getSubscribers());
+
+        stall.countDown();
+        await(() -> slow.completed);
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = tail.subscribe(lastEventId);
+        assertTrue(emitter instanceof RecordingEmitter, "subscription was rejected");
+        return (RecordingEmitter) emitter;
+    }
+
+    /**
+     * Publishes one event at a time, so the subscriber never falls behind.
+     */
+    private List<String> publish(RecordingEmitter subscriber, int count) throws InterruptedException {
+        for (int i = 1; i <= count; i++) {
+            tail.publish(event());
+            awaitIds(subscriber, i);
+        }
+        return subscriber.ids();
+    }
+
+    private static List<String> awaitIds(RecordingEmitter emitter, int count) throws InterruptedException {
+        await(() -> emitter.ids().size() >= count);
+        return emitter.ids();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    private static ActionAuditEvent event() {
+        return new ActionAuditEvent(
+                Instant.now(), "admin@example.com", Roles.ADMIN, 1L, "user@example.com",
+                ActionType.ROLE_CHANGE, ActionStatus.SUCCESS, "test", null, null);
+    }
+
+    /**
+     * Keeps what would have been written to the client, optionally holding
+     * the first write until the latch is released.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final StringBuffer written = new StringBuffer();
+        private final CountDownLatch stall;
+        final CountDownLatch writing = new CountDownLatch(1);
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch stall) {
+            this.stall = stall;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            send(builder.build());
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+
+            writing.countDown();
+            if (stall != null) {
+                try {
+                    stall.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            items.forEach(item -> written.append(item.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String text() {
+            return written.toString();
+        }
+
+        List<String> ids() {
+            Matcher matcher = EVENT_ID.matcher(text());
+            return matcher.results().map(result -> result.group(1)).toList();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.registration.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ActionAuditTextIndexTest {
+
+    @Test
+    void intersectWalksListsOfSimilarSize() {
+
+        long[] small = { 1, 3, 5, 7, 9 };
+        long[] large = { 2, 3, 4, 5, 6, 9, 10 };
+
+        assertArrayEquals(new long[] { 3, 5, 9 }, ActionAuditTextIndex.intersect(small, large));
+    }
+
+    @Test
+    void intersectLooksUpIdsInAMuchLargerList() {
+
+        long[] small = { 0, 17, 500, 999, 5_000 };
+        long[] large = LongStream.range(1, 1_000).toArray();
+
+        assertArrayEquals(new long[] { 17, 500, 999 }, ActionAuditTextIndex.intersect(small, large));
+    }
+
+    @Test
+    void intersectWithEmptyOrDisjointListIsEmpty() {
+
+        assertArrayEquals(new long[0], ActionAuditTextIndex.intersect(new long[0], new long[] { 1, 2 }));
+        assertArrayEquals(new long[0], ActionAuditTextIndex.intersect(new long[] { 1, 2 }, new long[0]));
+        assertArrayEquals(new long[0], ActionAuditTextIndex.intersect(new long[] { 1, 3 }, new long[] { 2, 4 }));
+    }
+}
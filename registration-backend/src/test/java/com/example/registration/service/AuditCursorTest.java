@@ -0,0 +1,64 @@
+package com.example.registration.service;
+
+import com.example.registration.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuditCursorTest {
+
+    @Test
+    void roundTripKeepsTimeToTheNanosecondAndId() {
+
+        Instant time = Instant.parse("2026-03-01T10:15:30.123456789Z");
+
+        AuditCursor decoded = AuditCursor.decode(new AuditCursor(time, 987_654_321L).encode());
+
+        assertEquals(time, decoded.getTime());
+        assertEquals(987_654_321L, decoded.getId());
+    }
+
+    @Test
+    void roundTripBeforeTheEpoch() {
+
+        Instant time = Instant.parse("1969-12-31T23:59:59.5Z");
+
+        AuditCursor decoded = AuditCursor.decode(new AuditCursor(time, 1).encode());
+
+        assertEquals(time, decoded.getTime());
+    }
+
+    @Test
+    void encodedFormIsUrlSafe() {
+
+        String cursor = new AuditCursor(Instant.ofEpochSecond(-1, 999_999_999), -1).encode();
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+    }
+
+    @Test
+    void malformedCursorsAreBadRequests() {
+
+        String valid = new AuditCursor(Instant.now(), 1).encode();
+
+        assertThrows(BadRequestException.class, () -> AuditCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> AuditCursor.decode(""));
+        assertThrows(BadRequestException.class, () -> AuditCursor.decode(valid.substring(0, valid.length() - 4)));
+        assertThrows(BadRequestException.class, () -> AuditCursor.decode(valid + "AAAA"));
+    }
+
+    @Test
+    void timeOutOfRangeIsABadRequest() {
+
+        byte[] bytes = ByteBuffer.allocate(20).putLong(Long.MAX_VALUE).putInt(0).putLong(1).array();
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertThrows(BadRequestException.class, () -> AuditCursor.decode(cursor));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.registration.service;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditStateCodecTest {
+
+    private final AuditStateCodec codec = new AuditStateCodec(JsonMapper.builder().build(), 1024);
+
+    @Test
+    void updateKeepsOnlyChangedFields() {
+
+        Map<String, Object> before = state("USER", true, "Old Name");
+        Map<String, Object> after = state("ADMIN", true, "Old Name");
+
+        String[] encoded = codec.encodeChange(before, after);
+
+        assertEquals(Map.of("role", "USER"), codec.toMap(encoded[0]));
+        assertEquals(Map.of("role", "ADMIN"), codec.toMap(encoded[1]));
+    }
+
+    @Test
+    void creationStoresFullSnapshotWithoutNulls() {
+
+        Map<String, Object> after = state("USER", false, null);
+
+        String[] encoded = codec.encodeChange(null, after);
+
+        assertNull(encoded[0]);
+        assertEquals(Map.of("email", "someone@example.com", "role", "USER", "active", false),
+                codec.toMap(encoded[1]));
+    }
+
+    @Test
+    void deletionStoresFullSnapshotAsBefore() {
+
+        Map<String, Object> before = state("EDITOR", true, "Gone");
+
+        String[] encoded = codec.encodeChange(before, null);
+
+        assertEquals(before, codec.toMap(encoded[0]));
+        assertNull(encoded[1]);
+    }
+
+    @Test
+    void largeStatesRoundTripThroughGzip() {
+
+        AuditStateCodec compressing = new AuditStateCodec(JsonMapper.builder().build(), 64);
+        Map<String, Object> after = state("USER", true, "x".repeat(2000));
+
+        String stored = compressing.encodeChange(null, after)[1];
+
+        assertTrue(stored.startsWith("gz:"));
+        assertEquals(after, compressing.toMap(stored));
+        assertTrue(compressing.toText(stored).startsWith("{"));
+        assertTrue(compressing.isStructured(stored));
+    }
+
+    @Test
+    void legacyFreeTextIsPassedThrough() {
+
+        for (String legacy : new String[] { "true", "ADMIN", "User(id=1, name=Someone)", "[1,2]" }) {
+            assertNull(codec.toMap(legacy), legacy);
+            assertFalse(codec.isStructured(legacy), legacy);
+            assertEquals(legacy, codec.toText(legacy));
+        }
+    }
+
+    @Test
+    void malformedCompressedTextIsReturnedAsStored() {
+
+        String notBase64 = "gz:not base64!";
+        String notGzip = "gz:aGVsbG8=";
+
+        assertEquals(notBase64, codec.toText(notBase64));
+        assertEquals(notGzip, codec.toText(notGzip));
+        assertNull(codec.toMap(notGzip));
+    }
+
+    @Test
+    void absentStateIsStructured() {
+        assertNull(codec.toMap(null));
+        assertNull(codec.toText(null));
+        assertTrue(codec.isStructured(null));
+    }
+
+    private static Map<String, Object> state(String role, boolean active, String name) {
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("email", "someone@example.com");
+        state.put("role", role);
+        state.put("active", active);
+        state.put("name", name);
+        return state;
+    }
+}
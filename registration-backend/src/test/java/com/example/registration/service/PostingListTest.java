@@ -0,0 +1,134 @@
+package com.example.registration.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostingListTest {
+
+    @Test
+    void ascendingIdsAreStoredAsSmallGaps() {
+
+        PostingList list = new PostingList();
+        for (long id = 1; id <= 1000; id++) {
+            list.add(id);
+        }
+
+        assertEquals(1000, list.size());
+        // First id and every gap of one fit a single byte each
+        assertEquals(1000, list.sizeInBytes());
+        assertEquals(1000, list.toArray()[999]);
+    }
+
+    @Test
+    void largeIdsAndGapsRoundTrip() {
+
+        long[] ids = { 127, 128, 16_384, 2_097_152, 1L << 40, Long.MAX_VALUE / 2 };
+
+        PostingList list = new PostingList();
+        for (long id : ids) {
+            list.add(id);
+        }
+
+        assertArrayEquals(ids, list.toArray());
+    }
+
+    @Test
+    void outOfOrderIdsAreMergedAndDuplicatesIgnored() {
+
+        PostingList list = new PostingList();
+        for (long id : new long[] { 10, 20, 30, 15, 5, 20, 31, 10 }) {
+            list.add(id);
+        }
+
+        assertArrayEquals(new long[] { 5, 10, 15, 20, 30, 31 }, list.toArray());
+        assertEquals(6, list.size());
+
+        // Appending still works after a re-encode
+        list.add(40);
+        assertArrayEquals(new long[] { 5, 10, 15, 20, 30, 31, 40 }, list.toArray());
+    }
+
+    @Test
+    void appendAllJoinsConsecutiveLists() {
+
+        PostingList head = of(1, 2, 300);
+        PostingList tail = of(1_000, 1_001, 70_000);
+
+        head.appendAll(tail);
+
+        assertArrayEquals(new long[] { 1, 2, 300, 1_000, 1_001, 70_000 }, head.toArray());
+        assertEquals(6, head.size());
+
+        // Later adds continue from the appended last id
+        head.add(70_001);
+        assertEquals(70_001, head.toArray()[6]);
+    }
+
+    @Test
+    void appendAllIntoEmptyListCopiesIt() {
+
+        PostingList empty = new PostingList();
+        empty.appendAll(of(500, 501));
+        empty.appendAll(new PostingList());
+
+        assertArrayEquals(new long[] { 500, 501 }, empty.toArray());
+    }
+
+    @Test
+    void appendAllRejectsOverlap() {
+
+        PostingList head = of(1, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> head.appendAll(of(10, 11)));
+        assertThrows(IllegalArgumentException.class, () -> head.appendAll(of(5)));
+    }
+
+    @Test
+    void snapshotRoundTrip() throws IOException {
+
+        PostingList list = of(3, 4, 9, 1_000_000);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        list.write(new DataOutputStream(bytes));
+
+        PostingList read = PostingList.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertArrayEquals(list.toArray(), read.toArray());
+        assertEquals(list.size(), read.size());
+        assertEquals(list.sizeInBytes(), read.sizeInBytes());
+
+        // A list read from a snapshot keeps growing like any other
+        read.add(1_000_001);
+        read.add(2);
+        assertArrayEquals(new long[] { 2, 3, 4, 9, 1_000_000, 1_000_001 }, read.toArray());
+    }
+
+    @Test
+    void emptySnapshotRoundTrip() throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new PostingList().write(new DataOutputStream(bytes));
+
+        PostingList read = PostingList.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        read.add(7);
+
+        assertArrayEquals(new long[] { 7 }, read.toArray());
+    }
+
+    private static PostingList of(long... ids) {
+        PostingList list = new PostingList();
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+}